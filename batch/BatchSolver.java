@@ -0,0 +1,313 @@
+package puzzles.batch;
+
+import puzzles.chess.model.ChessConfig;
+import puzzles.chess.model.ChessLoader;
+import puzzles.clock.ClockConfig;
+import puzzles.clock.ClockSolver;
+import puzzles.common.solver.AStarSolver;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Solver;
+import puzzles.strings.StringsConfig;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Solves many puzzles in one JVM on a fixed pool of worker threads, so the JIT only has to warm
+ * up once. Puzzles come either from a directory, where every file is a chess board or, if its
+ * name ends in .bundle, a bundle of chess boards, or from a manifest file with one entry per line:
+ * <pre>
+ *     chess path/to/board.txt        (relative to the manifest's directory)
+ *     bundle path/to/boards.bundle   (every board in a bundle file, see ChessLoader)
+ *     clock hours start end
+ *     strings start end
+ * </pre>
+ * Blank lines and lines starting with # are skipped. Each result is written as one line of JSON
+ * as soon as it is ready, so results come out in the order the puzzles finish.
+ * Usage: java puzzles.batch.BatchSolver directory|manifest [--threads n] [--symmetric]
+ * @author Aneesh Bukya
+ */
+public class BatchSolver {
+    /** how to run the program */
+    private static final String USAGE = "Usage: java BatchSolver directory|manifest [--threads n] [--symmetric]";
+
+    /**
+     * One puzzle to solve.
+     * @param name - how the puzzle is named in the results
+     * @param type - chess, clock or strings
+     * @param args - the arguments of the puzzle, a file name for chess
+     * @param board - the chess board, if it was already loaded from a bundle, otherwise null
+     */
+    record Job(String name, String type, String[] args, ChessConfig board) {
+        /**
+         * creates a job whose puzzle is loaded when it is solved
+         * @param name - how the puzzle is named in the results
+         * @param type - chess, clock or strings
+         * @param args - the arguments of the puzzle, a file name for chess
+         */
+        Job(String name, String type, String[] args) {
+            this(name, type, args, null);
+        }
+    }
+
+    /**
+     * The outcome of one puzzle.
+     * @param job - the puzzle
+     * @param steps - the number of moves in the solution, -1 if there is none
+     * @param nanos - how long solving took
+     * @param totalConfigs - the configs generated
+     * @param uniqueConfigs - the distinct configs seen
+     * @param error - why the puzzle could not be solved, null if it was
+     */
+    record Result(Job job, int steps, long nanos, int totalConfigs, int uniqueConfigs, String error) {}
+
+    /** true to reduce symmetric chess boards */
+    private final boolean symmetric;
+
+    /**
+     * creates a batch solver
+     * @param symmetric - true to reduce symmetric chess boards
+     */
+    public BatchSolver(boolean symmetric) {
+        this.symmetric = symmetric;
+    }
+
+    /**
+     * reads the puzzles to solve
+     * @param source - a directory of chess boards or a manifest file
+     * @return the jobs, in order
+     * @throws IOException - if the source can not be read
+     */
+    static List<Job> readJobs(Path source) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile).sorted()::iterator) {
+                    if (file.toString().endsWith(".bundle")) {
+                        addBundle(jobs, file);
+                    } else {
+                        jobs.add(new Job(file.toString(), "chess", new String[] {file.toString()}));
+                    }
+                }
+            }
+            return jobs;
+        }
+        Path base = source.toAbsolutePath().getParent();
+        for (String line : Files.readAllLines(source)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            String type = fields[0];
+            String[] args = new String[fields.length - 1];
+            System.arraycopy(fields, 1, args, 0, args.length);
+            if (type.equals("bundle") && args.length == 1) {
+                addBundle(jobs, base.resolve(args[0]));
+                continue;
+            }
+            if (type.equals("chess") && args.length == 1) {
+                args[0] = base.resolve(args[0]).toString();
+            }
+            jobs.add(new Job(line, type, args));
+        }
+        return jobs;
+    }
+
+    /**
+     * loads every board in a bundle file up front and adds a job for each, named by the file and
+     * the board's position in it
+     * @param jobs - the jobs to add to
+     * @param bundle - the bundle file
+     * @throws IOException - if the bundle can not be read or holds something that is not a board
+     */
+    private static void addBundle(List<Job> jobs, Path bundle) throws IOException {
+        List<ChessConfig> boards = ChessLoader.loadBundle(bundle);
+        for (int i = 0; i < boards.size(); i++) {
+            jobs.add(new Job(bundle + "#" + i, "chess", new String[] {bundle.toString()}, boards.get(i)));
+        }
+    }
+
+    /**
+     * solves one puzzle, catching anything that goes wrong so the batch keeps going
+     * @param job - the puzzle
+     * @return the result
+     */
+    Result solve(Job job) {
+        long begin = System.nanoTime();
+        try {
+            switch (job.type()) {
+                case "chess": {
+                    Solver solver = new Solver();
+                    solver.setSymmetryReduction(symmetric);
+                    ChessConfig board = job.board() != null ? job.board() : load(job.args()[0]);
+                    Collection<Configuration> path = solver.solve(board);
+                    return result(job, path, begin, solver.getTotalConfigs(), solver.getUniqueConfigs());
+                }
+                case "clock": {
+                    ClockSolver solver = new ClockSolver();
+                    Collection<Configuration> path = solver.solve(new ClockConfig(Integer.parseInt(job.args()[0]),
+                            Integer.parseInt(job.args()[1]), Integer.parseInt(job.args()[2])));
+                    return result(job, path, begin, solver.getTotalConfigs(), solver.getUniqueConfigs());
+                }
+                case "strings": {
+                    AStarSolver solver = new AStarSolver();
+                    Collection<Configuration> path = solver.solve(new StringsConfig(job.args()[0], job.args()[1]));
+                    return result(job, path, begin, solver.getTotalConfigs(), solver.getUniqueConfigs());
+                }
+                default:
+                    return new Result(job, -1, System.nanoTime() - begin, 0, 0, "Unknown puzzle type " + job.type());
+            }
+        } catch (RuntimeException | OutOfMemoryError e) {
+            Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+            return new Result(job, -1, System.nanoTime() - begin, 0, 0, cause.toString());
+        }
+    }
+
+    /**
+     * loads a chess board, wrapping the checked exception
+     * @param filename - the board file
+     * @return the config
+     */
+    private static ChessConfig load(String filename) {
+        try {
+            return new ChessConfig(filename);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * builds the result of a finished solve
+     * @param job - the puzzle
+     * @param path - the path the solver returned
+     * @param begin - when solving started
+     * @param totalConfigs - the solver's total configs
+     * @param uniqueConfigs - the solver's unique configs
+     * @return the result
+     */
+    private static Result result(Job job, Collection<Configuration> path, long begin,
+                                 int totalConfigs, int uniqueConfigs) {
+        return new Result(job, path.size() - 1, System.nanoTime() - begin, totalConfigs, uniqueConfigs, null);
+    }
+
+    /**
+     * formats a result as one line of JSON
+     * @param result - the result
+     * @return the JSON text
+     */
+    static String toJson(Result result) {
+        StringBuilder json = new StringBuilder("{\"puzzle\":");
+        quote(json, result.job().name());
+        json.append(",\"type\":");
+        quote(json, result.job().type());
+        if (result.error() != null) {
+            json.append(",\"status\":\"error\",\"error\":");
+            quote(json, result.error());
+        } else {
+            json.append(",\"status\":").append(result.steps() < 0 ? "\"no solution\"" : "\"solved\"");
+            json.append(",\"steps\":").append(result.steps());
+            json.append(",\"totalConfigs\":").append(result.totalConfigs());
+            json.append(",\"uniqueConfigs\":").append(result.uniqueConfigs());
+        }
+        // JSON numbers always use a decimal point, whatever the default locale
+        json.append(",\"millis\":").append(String.format(Locale.ROOT, "%.3f", result.nanos() / 1e6));
+        return json.append('}').toString();
+    }
+
+    /**
+     * appends a string as a JSON string literal
+     * @param json - where to append
+     * @param text - the string
+     */
+    private static void quote(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * solves every job on a pool of worker threads, printing each result as it finishes
+     * @param jobs - the puzzles
+     * @param threads - the number of worker threads
+     * @param out - where the JSON lines go
+     * @throws InterruptedException - if interrupted while waiting for results
+     */
+    public void run(List<Job> jobs, int threads, PrintStream out) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            ExecutorCompletionService<Result> results = new ExecutorCompletionService<>(pool);
+            for (Job job : jobs) {
+                results.submit(() -> solve(job));
+            }
+            for (int i = 0; i < jobs.size(); i++) {
+                try {
+                    out.println(toJson(results.take().get()));
+                    out.flush();
+                } catch (ExecutionException e) {
+                    // solve catches its own failures, so this only happens for errors like StackOverflowError
+                    System.err.println(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * runs a batch from the command line
+     * @param args - command line
+     * @throws IOException - if the puzzles can not be read
+     * @throws InterruptedException - if interrupted while waiting for results
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean symmetric = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length && args[i + 1].matches("[1-9][0-9]{0,3}")) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--symmetric")) {
+                symmetric = true;
+            } else {
+                System.out.println(USAGE);
+                return;
+            }
+        }
+        long begin = System.nanoTime();
+        List<Job> jobs = readJobs(Paths.get(args[0]));
+        new BatchSolver(symmetric).run(jobs, threads, System.out);
+        System.err.printf("Solved %d puzzles in %.1f ms%n", jobs.size(), (System.nanoTime() - begin) / 1e6);
+    }
+}
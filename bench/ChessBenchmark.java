@@ -0,0 +1,57 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.annotations.Param;
+import puzzles.chess.model.ChessConfig;
+import puzzles.common.solver.Configuration;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmarks the chess puzzle on square boards of a range of sizes, with pieces placed on random
+ * squares from a fixed seed so every run measures the same boards.
+ * @author Aneesh Bukya
+ */
+public class ChessBenchmark extends PuzzleBenchmark {
+    /** the pieces placed on the generated boards */
+    private static final String PIECES = "BKNPQR";
+
+    /** the number of rows and columns */
+    @Param({"4", "5", "6", "7", "8"})
+    public int size;
+    /** the number of pieces */
+    @Param({"5", "8"})
+    public int pieces;
+
+    /** the generated board, copied for every start config */
+    private ChessConfig board;
+
+    /**
+     * generates a chess board with pieces on random squares
+     * @param size - number of rows and columns
+     * @param pieces - number of pieces
+     * @param seed - seed for the placement so runs are repeatable
+     * @return the chess config
+     */
+    static ChessConfig chessBoard(int size, int pieces, long seed) {
+        Random random = new Random(seed);
+        String[] cells = new String[size * size];
+        Arrays.fill(cells, ChessConfig.EMPTY);
+        for (int placed = 0; placed < pieces; ) {
+            int square = random.nextInt(cells.length);
+            if (cells[square].equals(ChessConfig.EMPTY)) {
+                cells[square] = String.valueOf(PIECES.charAt(random.nextInt(PIECES.length())));
+                placed++;
+            }
+        }
+        return new ChessConfig(size, size, cells);
+    }
+
+    @Override
+    protected Configuration start() {
+        if (board == null) {
+            board = chessBoard(size, pieces, 31L * size + pieces);
+        }
+        return new ChessConfig(board);
+    }
+}
@@ -0,0 +1,41 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import puzzles.clock.ClockConfig;
+import puzzles.clock.ClockSolver;
+import puzzles.common.solver.Configuration;
+
+/**
+ * Benchmarks the clock puzzle over a range of dial sizes, with the goal on the opposite side of
+ * the dial, and its table and direct solvers against the breadth first one.
+ * @author Aneesh Bukya
+ */
+public class ClockBenchmark extends PuzzleBenchmark {
+    /** the number of hours on the dial */
+    @Param({"12", "1000", "100000"})
+    public int hours;
+
+    @Override
+    protected Configuration start() {
+        return new ClockConfig(hours, 1, hours / 2 + 1);
+    }
+
+    /**
+     * solves the puzzle with the clock solver's table of moves
+     * @return the path length
+     */
+    @Benchmark
+    public int solveTable() {
+        return new ClockSolver(false).solve(start()).size();
+    }
+
+    /**
+     * solves the puzzle with the clock solver's closed form
+     * @return the path length
+     */
+    @Benchmark
+    public int solveDirect() {
+        return new ClockSolver(true).solve(start()).size();
+    }
+}
@@ -0,0 +1,99 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Solver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks every puzzle shares: the solver end to end and the per-call cost of
+ * getNeighbors, hashCode and equals. Each puzzle extends this with the sizes it is run at.
+ * Run them with mvn -Pjmh compile exec:exec, which adds the GC profiler to report the bytes
+ * allocated per operation and the collections they caused.
+ * @author Aneesh Bukya
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class PuzzleBenchmark {
+    /** the start config */
+    private Configuration config;
+    /** a config equal to, but not the same object as, the start config */
+    private Configuration same;
+    /** the neighbors of the start config */
+    private List<Configuration> neighbors;
+
+    /**
+     * creates the start config of the puzzle being measured, a new object every call
+     * @return the start config
+     */
+    protected abstract Configuration start();
+
+    /**
+     * creates the configs the per-call benchmarks use
+     */
+    @Setup
+    public void setUp() {
+        config = start();
+        same = start();
+        neighbors = new ArrayList<>(config.getNeighbors());
+    }
+
+    /**
+     * solves the puzzle with a breadth first search
+     * @return the number of configs generated
+     */
+    @Benchmark
+    public int solve() {
+        Solver solver = new Solver();
+        solver.solve(start());
+        return solver.getTotalConfigs();
+    }
+
+    /**
+     * generates the neighbors of the start config
+     * @return the neighbors
+     */
+    @Benchmark
+    public Collection<Configuration> getNeighbors() {
+        return config.getNeighbors();
+    }
+
+    /**
+     * hashes the start config and its neighbors, as the visited set does
+     * @return the sum of the hashes
+     */
+    @Benchmark
+    public int hashCodes() {
+        int hash = config.hashCode();
+        for (Configuration nbr : neighbors) {
+            hash += nbr.hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * compares the start config with an equal copy
+     * @return true
+     */
+    @Benchmark
+    public boolean equalsCopy() {
+        return config.equals(same);
+    }
+}
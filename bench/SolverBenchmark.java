@@ -0,0 +1,99 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzles.chess.model.ChessConfig;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Frontier;
+import puzzles.common.solver.Solver;
+import puzzles.strings.StringsConfig;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the solver with the old linked list queue against the ring buffer frontier on the
+ * Chess and Strings puzzles.
+ * @author Aneesh Bukya
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+    /** the chess board that is solved, every piece can eventually be captured */
+    private static final String[] CHESS_BOARD = {
+            "N", ".", "R", "B",
+            ".", "Q", ".", ".",
+            "P", "K", ".", "N",
+            "B", ".", "R", "."
+    };
+    /** the strings puzzle that is solved */
+    private static final String STRINGS_START = "ABCD";
+    /** the goal of the strings puzzle */
+    private static final String STRINGS_END = "CAEB";
+
+    /**
+     * The queue the solver used before frontiers were pluggable: a linked list that is popped
+     * with remove(0).
+     */
+    private static class LinkedListFrontier implements Frontier<Configuration> {
+        /** the backing list */
+        private final List<Configuration> list = new LinkedList<>();
+
+        @Override
+        public void add(Configuration element) {
+            list.add(element);
+        }
+
+        @Override
+        public Configuration remove() {
+            if (list.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return list.remove(0);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return list.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+    }
+
+    /** the puzzle solved, chess or strings */
+    @Param({"chess", "strings"})
+    public String puzzle;
+    /** the queue the solver uses, linked or array */
+    @Param({"linked", "array"})
+    public String frontier;
+
+    /**
+     * solves the puzzle
+     * @return the number of configs generated
+     */
+    @Benchmark
+    public int solve() {
+        Solver solver = frontier.equals("linked") ? new Solver(LinkedListFrontier::new) : new Solver();
+        Configuration start = puzzle.equals("chess") ? new ChessConfig(4, 4, CHESS_BOARD)
+                : new StringsConfig(STRINGS_START, STRINGS_END);
+        solver.solve(start);
+        return solver.getTotalConfigs();
+    }
+}
@@ -0,0 +1,20 @@
+package puzzles.bench;
+
+import org.openjdk.jmh.annotations.Param;
+import puzzles.common.solver.Configuration;
+import puzzles.strings.StringsConfig;
+
+/**
+ * Benchmarks the strings puzzle over a range of lengths, where every letter has to move two places.
+ * @author Aneesh Bukya
+ */
+public class StringsBenchmark extends PuzzleBenchmark {
+    /** the length of the strings */
+    @Param({"3", "4", "5"})
+    public int length;
+
+    @Override
+    protected Configuration start() {
+        return new StringsConfig("A".repeat(length), "C".repeat(length));
+    }
+}
@@ -1,6 +1,7 @@
 package puzzles.chess.gui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -253,6 +254,11 @@ public class ChessGUI extends Application implements Observer<ChessModel, String
      */
     @Override
     public void update(ChessModel chessModel, String msg) {
+        // hints are solved in the background, and the scene may only be touched from the JavaFX thread
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> update(chessModel, msg));
+            return;
+        }
         this.stage.sizeToScene();  // when a different sized puzzle is loaded
         label.setText(msg);
         numRows = this.model.getRows();
@@ -0,0 +1,77 @@
+package puzzles.chess.model;
+
+import puzzles.common.solver.StateCodec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes chess boards as one byte for the rows, one for the columns, then the piece code of
+ * every square, two squares to a byte with the lower numbered square in the low four bits.
+ * A 4x4 board takes 10 bytes.
+ * @author Aneesh Bukya
+ */
+public class ChessCodec implements StateCodec<ChessConfig> {
+    /** the number of bits used for each square */
+    private static final int BITS_PER_SQUARE = 4;
+    /** the mask of one square's bits */
+    private static final int SQUARE_MASK = (1 << BITS_PER_SQUARE) - 1;
+
+    @Override
+    public int size(ChessConfig config) {
+        return 2 + (config.numRows * config.numCols + 1) / 2;
+    }
+
+    @Override
+    public void encode(ChessConfig config, ByteBuffer buffer) {
+        int squares = config.numRows * config.numCols;
+        buffer.put((byte) config.numRows);
+        buffer.put((byte) config.numCols);
+        for (int square = 0; square < squares; square += 2) {
+            int high = square + 1 < squares ? config.codeAt(square + 1) : 0;
+            buffer.put((byte) (config.codeAt(square) | high << BITS_PER_SQUARE));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The size and every piece code are checked before the board is built, so corrupted bytes
+     * are rejected rather than read as some other board.
+     */
+    @Override
+    public ChessConfig decode(ByteBuffer buffer) {
+        int numRows = buffer.get() & 0xFF;
+        int numCols = buffer.get() & 0xFF;
+        if (numRows == 0 || numCols == 0 || numRows * numCols > ChessGeometry.MAX_SQUARES) {
+            throw new IllegalArgumentException("Bad board size " + numRows + "x" + numCols);
+        }
+        byte[] codes = new byte[numRows * numCols];
+        if (buffer.remaining() < (codes.length + 1) / 2) {
+            throw new BufferUnderflowException();
+        }
+        for (int square = 0; square < codes.length; square += 2) {
+            int pair = buffer.get();
+            codes[square] = piece(pair & SQUARE_MASK);
+            int high = (pair >>> BITS_PER_SQUARE) & SQUARE_MASK;
+            if (square + 1 < codes.length) {
+                codes[square + 1] = piece(high);
+            } else if (high != 0) {
+                throw new IllegalArgumentException("Padding after the last square is " + high + ", not 0");
+            }
+        }
+        return new ChessConfig(numRows, numCols, codes);
+    }
+
+    /**
+     * checks a decoded piece code
+     * @param code - the code
+     * @return the code
+     * @throws IllegalArgumentException - if it is not a piece or empty
+     */
+    private static byte piece(int code) {
+        if (code >= ChessConfig.PIECES.length) {
+            throw new IllegalArgumentException("Unknown piece code " + code);
+        }
+        return (byte) code;
+    }
+}
@@ -2,19 +2,33 @@ package puzzles.chess.model;
 
 import puzzles.common.Coordinates;
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.LayeredConfiguration;
+import puzzles.common.solver.PackedConfiguration;
+import puzzles.common.solver.SymmetricConfiguration;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
 
 /**
- *The main class for representing the Chess puzzle
+ *The main class for representing the Chess puzzle.
+ * The board is stored compactly: one byte per square holding the piece code, plus a 64-bit
+ * mask of the occupied squares. Squares are numbered in row-major order, so boards can have at
+ * most 64 squares (8x8).
+ * The hash code is a Zobrist key, the XOR of a random number for every (piece, square) pair on
+ * the board, so a capture only has to update it with four XORs.
+ * Boards of up to 21 squares can also be packed into a single long, three bits per square.
+ * Boards without pawns play the same after any rotation or reflection, so they have a canonical
+ * form for searches that reduce symmetric boards.
  * @author Aneesh Bukya
  */
-public class ChessConfig implements Configuration {
+public class ChessConfig implements PackedConfiguration, SymmetricConfiguration, LayeredConfiguration {
     /** stores the number of rows */
     protected int numRows;
     /** stores the number of columns */
@@ -33,32 +47,55 @@ public class ChessConfig implements Configuration {
     public static final String ROOK = "R";
     /** stores the string for a EMPTY */
     public static final String EMPTY = ".";
-    /** a hashmap that stores the pieces on the chess board with a coordinate key system  */
-    private HashMap<Coordinates, String> chessMap = new HashMap<>();
-    /** a list of configs  */
-    private ArrayList<Configuration> neighbourList;
+    /** the code stored for an empty square */
+    static final byte EMPTY_CODE = 0;
+    /** the code stored for a bishop */
+    static final byte BISHOP_CODE = 1;
+    /** the code stored for a king */
+    static final byte KING_CODE = 2;
+    /** the code stored for a knight */
+    static final byte KNIGHT_CODE = 3;
+    /** the code stored for a pawn */
+    static final byte PAWN_CODE = 4;
+    /** the code stored for a queen */
+    static final byte QUEEN_CODE = 5;
+    /** the code stored for a rook */
+    static final byte ROOK_CODE = 6;
+    /** the piece strings indexed by their codes */
+    static final String[] PIECES = {EMPTY, BISHOP, KING, KNIGHT, PAWN, QUEEN, ROOK};
+    /** the number of bits used for each square of a packed board */
+    private static final int BITS_PER_SQUARE = 3;
+    /** the mask of one square of a packed board */
+    private static final long SQUARE_MASK = (1L << BITS_PER_SQUARE) - 1;
+    /** the Zobrist key of every piece code on every square, empty squares contribute nothing */
+    private static final long[][] ZOBRIST = new long[PIECES.length][ChessGeometry.MAX_SQUARES];
+
+    static {
+        // a fixed seed keeps the keys the same from run to run
+        SplittableRandom random = new SplittableRandom(0x5EED_C4E55L);
+        for (int code = 1; code < PIECES.length; code++) {
+            for (int square = 0; square < ChessGeometry.MAX_SQUARES; square++) {
+                ZOBRIST[code][square] = random.nextLong();
+            }
+        }
+    }
+
+    /** the move tables for this board size */
+    private ChessGeometry geometry;
+    /** the piece code on every square, indexed by square number */
+    private byte[] board;
+    /** the mask of squares that hold a piece */
+    private long occupied;
+    /** the Zobrist key of the board, kept up to date by every change */
+    private long key;
 
     /**
-     * the constructor that loads the info in the chessboard(Hashmap)
+     * the constructor that loads the info in the chessboard, see {@link ChessLoader} for the format
      * @param filename - name of the file
-     * @throws IOException - if file not found
+     * @throws IOException - if file not found, or it holds an unknown piece or a board with more than 64 squares
      */
     public ChessConfig(String filename) throws IOException {
-        try (BufferedReader in = new BufferedReader(new FileReader(filename))) {
-            // first line is: rows cols
-            String line = in.readLine();
-            String[] fields = line.split("\\s+");
-            numRows = Integer.parseInt(fields[0]);
-            numCols = Integer.parseInt(fields[1]);
-            for (int i = 0; i < numRows; i++) {
-                line = in.readLine();
-                fields = line.split("\\s+");
-                for (int j = 0; j < numCols; j++) {
-                    chessMap.put(new Coordinates(i, j), fields[j]);
-                }
-            }
-        }
-        neighbourList = new ArrayList<>();
+        this(ChessLoader.load(Paths.get(filename)));
     }
 
     /**
@@ -69,15 +106,140 @@ public class ChessConfig implements Configuration {
     public ChessConfig(ChessConfig other) {
         this.numRows = other.numRows;
         this.numCols = other.numCols;
-        this.chessMap = new HashMap<>();
-        for (int i = 0; i < numRows; i++) {
-            for (int j = 0; j < numCols; j++) {
-                String word = other.chessMap.get(new Coordinates(i, j));
-                String newWord = String.valueOf(word);
-                this.chessMap.put(new Coordinates(i, j), newWord);
+        this.geometry = other.geometry;
+        this.board = other.board.clone();
+        this.occupied = other.occupied;
+        this.key = other.key;
+    }
+
+    /**
+     * creates the config reached by moving the piece on one square onto another square
+     * @param other - the config before the move
+     * @param from - the square the piece moves from
+     * @param to - the square the piece moves to
+     */
+    private ChessConfig(ChessConfig other, int from, int to) {
+        this(other);
+        byte piece = board[from];
+        put(from, EMPTY_CODE);
+        put(to, piece);
+    }
+
+    /**
+     * creates a rotated or reflected copy of a config
+     * @param other - the config to copy
+     * @param symmetry - the square each square of other is moved to
+     */
+    private ChessConfig(ChessConfig other, int[] symmetry) {
+        this.numRows = other.numRows;
+        this.numCols = other.numCols;
+        this.geometry = other.geometry;
+        this.board = new byte[other.board.length];
+        for (long pieces = other.occupied; pieces != 0L; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            put(symmetry[square], other.board[square]);
+        }
+    }
+
+    /**
+     * creates a config from a packed board
+     * @param geometry - the tables for the board size
+     * @param state - the packed board
+     */
+    private ChessConfig(ChessGeometry geometry, long state) {
+        this.numRows = geometry.numRows;
+        this.numCols = geometry.numCols;
+        this.geometry = geometry;
+        this.board = new byte[numRows * numCols];
+        for (int square = 0; square < board.length; square++) {
+            put(square, (byte) ((state >>> (square * BITS_PER_SQUARE)) & SQUARE_MASK));
+        }
+    }
+
+    /**
+     * creates a config from the piece on every square, as written in a board file
+     * @param numRows - the number of rows
+     * @param numCols - the number of columns
+     * @param pieces - the piece string, or {@link #EMPTY}, on every square, indexed by square number
+     * @throws IllegalArgumentException - if the board has more than 64 squares or a string is not a piece
+     */
+    public ChessConfig(int numRows, int numCols, String[] pieces) {
+        this(numRows, numCols, codes(pieces));
+    }
+
+    /**
+     * looks up the code of every piece
+     * @param pieces - the piece strings
+     * @return their codes
+     * @throws IllegalArgumentException - if a string is not a piece
+     */
+    private static byte[] codes(String[] pieces) {
+        byte[] codes = new byte[pieces.length];
+        for (int square = 0; square < pieces.length; square++) {
+            int code = Arrays.asList(PIECES).indexOf(pieces[square]);
+            if (code < 0) {
+                throw new IllegalArgumentException("Unknown piece " + pieces[square]);
             }
+            codes[square] = (byte) code;
         }
-        neighbourList = new ArrayList<>();
+        return codes;
+    }
+
+    /**
+     * creates a config from the piece code of every square
+     * @param numRows - the number of rows
+     * @param numCols - the number of columns
+     * @param codes - the piece code on every square, indexed by square number
+     * @throws IllegalArgumentException - if the board has more than 64 squares or a code is not a piece
+     */
+    ChessConfig(int numRows, int numCols, byte[] codes) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.geometry = ChessGeometry.of(numRows, numCols);
+        if (codes.length != numRows * numCols) {
+            throw new IllegalArgumentException("Expected " + numRows * numCols + " squares, not " + codes.length);
+        }
+        this.board = new byte[codes.length];
+        for (int square = 0; square < codes.length; square++) {
+            if (codes[square] < 0 || codes[square] >= PIECES.length) {
+                throw new IllegalArgumentException("Unknown piece code " + codes[square]);
+            }
+            put(square, codes[square]);
+        }
+    }
+
+    /**
+     * stores a piece code on a square and keeps the occupancy mask and key in step
+     * @param square - the square number
+     * @param code - the piece code
+     */
+    private void put(int square, byte code) {
+        key ^= ZOBRIST[board[square]][square] ^ ZOBRIST[code][square];
+        board[square] = code;
+        if (code == EMPTY_CODE) {
+            occupied &= ~(1L << square);
+        } else {
+            occupied |= 1L << square;
+        }
+    }
+
+    /**
+     * the piece code on a square
+     * @param square - the square number
+     * @return the code
+     */
+    byte codeAt(int square) {
+        return board[square];
+    }
+
+    /**
+     * every move is a capture, which takes a piece off the board for good, so a neighbor is never
+     * in the layer being expanded or one before it
+     * @return 0
+     */
+    @Override
+    public int revisitedLayers() {
+        return 0;
     }
 
     /**
@@ -86,15 +248,7 @@ public class ChessConfig implements Configuration {
      */
     @Override
     public boolean isSolution() {
-        int numPieces = 0;
-        for (int i = 0; i < numRows; i++) {
-            for (int j = 0; j < numCols; j++) {
-                if (!chessMap.get(new Coordinates(i, j)).equals(EMPTY)) {
-                    numPieces++;
-                }
-            }
-        }
-        return (numPieces == 1);
+        return Long.bitCount(occupied) == 1;
     }
 
     /**
@@ -106,332 +260,204 @@ public class ChessConfig implements Configuration {
         return location.row() < numRows && location.row() >= 0 && location.col() < numCols && location.col() >= 0;
     }
 
+    /**
+     * gets the piece at a location
+     * @param row - the row
+     * @param col - the column
+     * @return the piece string, {@link #EMPTY} if there is no piece
+     */
+    public String getPiece(int row, int col) {
+        return PIECES[board[row * numCols + col]];
+    }
+
+    /**
+     * gets the piece at a location
+     * @param location - a pair of coordinates on the board
+     * @return the piece string, {@link #EMPTY} if there is no piece
+     */
+    public String getPiece(Coordinates location) {
+        return getPiece(location.row(), location.col());
+    }
+
+    /**
+     * the Zobrist key of the board, a 64-bit hash of which piece is on which square
+     * @return the key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * creates the config where the piece at one location has been moved onto another,
+     * without checking the move follows the rules
+     * @param from - the location of the piece to move
+     * @param to - the location it moves to
+     * @return the new config
+     */
+    public ChessConfig move(Coordinates from, Coordinates to) {
+        return new ChessConfig(this, from.row() * numCols + from.col(), to.row() * numCols + to.col());
+    }
+
+    /**
+     * tells us if the piece at one location can capture the piece at another
+     * @param from - the location of the capturing piece
+     * @param to - the location of the piece being captured
+     * @return true or false
+     */
+    public boolean canCapture(Coordinates from, Coordinates to) {
+        if (!hasCoordinates(from) || !hasCoordinates(to)) {
+            return false;
+        }
+        int square = from.row() * numCols + from.col();
+        long targets = geometry.attacks(board[square], square, occupied);
+        return (targets & (1L << (to.row() * numCols + to.col()))) != 0L;
+    }
+
+    /**
+     * Walks the captures of a board in square order, creating each neighbor config only when
+     * it is asked for.
+     */
+    private class NeighborIterator implements Iterator<Configuration> {
+        /** the pieces whose captures have not been started yet */
+        private long pieces = occupied;
+        /** the square of the piece whose captures are being produced */
+        private int from;
+        /** the captures of that piece not produced yet */
+        private long targets;
+
+        @Override
+        public boolean hasNext() {
+            while (targets == 0L && pieces != 0L) {
+                from = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                targets = geometry.attacks(board[from], from, occupied);
+            }
+            return targets != 0L;
+        }
+
+        @Override
+        public Configuration next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            return new ChessConfig(ChessConfig.this, from, to);
+        }
+    }
+
+    /**
+     * produces the neighbours of the current config lazily
+     * @return an iterator over the neighbour configs
+     */
+    @Override
+    public Iterator<Configuration> neighbors() {
+        return new NeighborIterator();
+    }
+
     /**
      * gets the neighbours of the current configs
-     * @return a list of neighbour configs
+     * @return a new list of neighbour configs, sized exactly
      */
     @Override
     public Collection<Configuration> getNeighbors() {
-        for (int i = 0; i < numRows; i++) {
-            for (int j = 0; j < numCols; j++) {
-                if (chessMap.get(new Coordinates(i, j)).equals(BISHOP)) {
-                    int x = 1;
-                    int y = 1;
-                    while (hasCoordinates(new Coordinates(i - x, j + y))) {
-                        if (!chessMap.get(new Coordinates(i - x, j + y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i - x, j + y), BISHOP);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                    x = 1;
-                    y = 1;
-                    while (hasCoordinates(new Coordinates(i + x, j + y))) {
-                        if (!chessMap.get(new Coordinates(i + x, j + y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i + x, j + y), BISHOP);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                    x = 1;
-                    y = 1;
-                    while (hasCoordinates(new Coordinates(i - x, j - y))) {
-                        if (!chessMap.get(new Coordinates(i - x, j - y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i - x, j - y), BISHOP);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                    x = 1;
-                    y = 1;
-                    while (hasCoordinates(new Coordinates(i + x, j - y))) {
-                        if (!chessMap.get(new Coordinates(i + x, j - y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i + x, j - y), BISHOP);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                }
-                else if (chessMap.get(new Coordinates(i, j)).equals(KNIGHT)) {
-                    if (hasCoordinates(new Coordinates(i - 2, j - 1)) && !chessMap.get(new Coordinates(i - 2, j - 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 2, j - 1), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i - 2, j + 1)) && !chessMap.get(new Coordinates(i - 2, j + 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 2, j + 1), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i - 1, j + 2)) && !chessMap.get(new Coordinates(i - 1, j + 2)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 1, j + 2), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i + 1, j + 2)) && !chessMap.get(new Coordinates(i + 1, j + 2)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i + 1, j + 2), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i + 2, j + 1)) && !chessMap.get(new Coordinates(i + 2, j + 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i + 2, j + 1), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i + 2, j - 1)) && !chessMap.get(new Coordinates(i + 2, j - 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i + 2, j - 1), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i + 1, j - 2)) && !chessMap.get(new Coordinates(i + 1, j - 2)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i + 1, j - 2), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i - 1, j - 2)) && !chessMap.get(new Coordinates(i - 1, j - 2)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 1, j - 2), KNIGHT);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                }
-                else if (chessMap.get(new Coordinates(i, j)).equals(PAWN)) {
-                    if (hasCoordinates(new Coordinates(i - 1, j + 1)) && !chessMap.get(new Coordinates(i - 1, j + 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 1, j + 1), PAWN);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i - 1, j - 1)) && !chessMap.get(new Coordinates(i - 1, j - 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig((this));
-                        config.chessMap.put(new Coordinates(i - 1, j - 1), PAWN);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                }
-                else if (chessMap.get(new Coordinates(i, j)).equals(QUEEN)) {
-                    int x = 1;
-                    int y = 1;
-                    while (hasCoordinates(new Coordinates(i - x, j + y))) {
-                        if (!chessMap.get(new Coordinates(i - x, j + y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i - x, j + y), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                    x = 1;
-                    y = 1;
-                    while (hasCoordinates(new Coordinates(i + x, j + y))) {
-                        if (!chessMap.get(new Coordinates(i + x, j + y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i + x, j + y), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                    x = 1;
-                    y = 1;
-                    while (hasCoordinates(new Coordinates(i - x, j - y))) {
-                        if (!chessMap.get(new Coordinates(i - x, j - y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i - x, j - y), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                    x = 1;
-                    y = 1;
-                    while (hasCoordinates(new Coordinates(i + x, j - y))) {
-                        if (!chessMap.get(new Coordinates(i + x, j - y)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i + x, j - y), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                        y++;
-                    }
-                    x = 1;
-                    y = 1;
-                    while (hasCoordinates(new Coordinates(i - x, j))) {
-                        if (!chessMap.get(new Coordinates(i - x, j)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i - x, j), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                    x = 1;
-                    while (hasCoordinates(new Coordinates(i + x, j))) {
-                        if (!chessMap.get(new Coordinates(i + x, j)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i + x, j), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                    x = 1;
-                    while (hasCoordinates(new Coordinates(i, j - x))) {
-                        if (!chessMap.get(new Coordinates(i, j - x)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i, j - x), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                    x = 1;
-                    while (hasCoordinates(new Coordinates(i, j + x))) {
-                        if (!chessMap.get(new Coordinates(i, j + x)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i, j + x), QUEEN);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                }
-                else if (chessMap.get(new Coordinates(i, j)).equals(ROOK)) {
-                    int x = 1;
-                    while (hasCoordinates(new Coordinates(i - x, j))) {
-                        if (!chessMap.get(new Coordinates(i - x, j)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i - x, j), ROOK);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                    x = 1;
-                    while (hasCoordinates(new Coordinates(i + x, j))) {
-                        if (!chessMap.get(new Coordinates(i + x, j)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i + x, j), ROOK);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                    x = 1;
-                    while (hasCoordinates(new Coordinates(i, j - x))) {
-                        if (!chessMap.get(new Coordinates(i, j - x)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i, j - x), ROOK);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                    x = 1;
-                    while (hasCoordinates(new Coordinates(i, j + x))) {
-                        if (!chessMap.get(new Coordinates(i, j + x)).equals(EMPTY)) {
-                            ChessConfig config = new ChessConfig((this));
-                            config.chessMap.put(new Coordinates(i, j + x), ROOK);
-                            config.chessMap.put(new Coordinates(i, j), EMPTY);
-                            neighbourList.add(config);
-                            break;
-                        }
-                        x++;
-                    }
-                }
-                else if (chessMap.get(new Coordinates(i, j)).equals(KING)) {
-                    if (hasCoordinates(new Coordinates(i - 1, j)) && !chessMap.get(new Coordinates(i - 1, j)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 1, j), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i + 1, j)) && !chessMap.get(new Coordinates(i + 1, j)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i + 1, j), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i, j - 1)) && !chessMap.get(new Coordinates(i, j - 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i, j - 1), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i, j + 1)) && !chessMap.get(new Coordinates(i, j + 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i, j + 1), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i - 1, j + 1)) && !chessMap.get(new Coordinates(i - 1, j + 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 1, j + 1), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i + 1, j + 1)) && !chessMap.get(new Coordinates(i + 1, j + 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i + 1, j + 1), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i - 1, j - 1)) && !chessMap.get(new Coordinates(i - 1, j - 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i - 1, j - 1), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                    if (hasCoordinates(new Coordinates(i + 1, j - 1)) && !chessMap.get(new Coordinates(i + 1, j - 1)).equals(EMPTY)) {
-                        ChessConfig config = new ChessConfig(this);
-                        config.chessMap.put(new Coordinates(i + 1, j - 1), KING);
-                        config.chessMap.put(new Coordinates(i, j), EMPTY);
-                        neighbourList.add(config);
-                    }
-                }
-            }
+        int count = 0;
+        for (long pieces = occupied; pieces != 0L; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            count += Long.bitCount(geometry.attacks(board[from], from, occupied));
         }
+        ArrayList<Configuration> neighbourList = new ArrayList<>(count);
+        neighbors().forEachRemaining(neighbourList::add);
         return neighbourList;
     }
 
+    /**
+     * The board among all its rotations and reflections with the smallest Zobrist key, with
+     * ties broken by comparing the boards square by square. Pawns only capture upwards, so a
+     * board with a pawn on it is its own canonical form.
+     * @return the canonical config, this config if no symmetry gives a smaller one
+     */
+    @Override
+    public Configuration canonical() {
+        for (long pieces = occupied; pieces != 0L; pieces &= pieces - 1) {
+            if (board[Long.numberOfTrailingZeros(pieces)] == PAWN_CODE) {
+                return this;
+            }
+        }
+        int[][] symmetries = geometry.symmetries;
+        int best = 0;
+        long bestKey = key;
+        for (int t = 1; t < symmetries.length; t++) {
+            long transformedKey = 0L;
+            for (long pieces = occupied; pieces != 0L; pieces &= pieces - 1) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                transformedKey ^= ZOBRIST[board[square]][symmetries[t][square]];
+            }
+            if (transformedKey < bestKey || transformedKey == bestKey
+                    && Arrays.compare(new ChessConfig(this, symmetries[t]).board,
+                                      new ChessConfig(this, symmetries[best]).board) < 0) {
+                best = t;
+                bestKey = transformedKey;
+            }
+        }
+        return best == 0 ? this : new ChessConfig(this, symmetries[best]);
+    }
+
+    @Override
+    public boolean isPackable() {
+        return board.length * BITS_PER_SQUARE <= Long.SIZE;
+    }
+
+    @Override
+    public long pack() {
+        long state = 0L;
+        for (int square = 0; square < board.length; square++) {
+            state |= (long) board[square] << (square * BITS_PER_SQUARE);
+        }
+        return state;
+    }
+
+    @Override
+    public Configuration unpack(long state) {
+        return new ChessConfig(geometry, state);
+    }
+
+    /**
+     * the mask of occupied squares of a packed board
+     * @param state - the packed board
+     * @return the occupancy mask
+     */
+    private long occupied(long state) {
+        long mask = 0L;
+        for (int square = 0; square < board.length; square++) {
+            if (((state >>> (square * BITS_PER_SQUARE)) & SQUARE_MASK) != EMPTY_CODE) {
+                mask |= 1L << square;
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public boolean isSolution(long state) {
+        return Long.bitCount(occupied(state)) == 1;
+    }
+
+    @Override
+    public void forEachNeighbor(long state, LongConsumer action) {
+        long occupiedSquares = occupied(state);
+        for (long pieces = occupiedSquares; pieces != 0L; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            int fromShift = from * BITS_PER_SQUARE;
+            long piece = (state >>> fromShift) & SQUARE_MASK;
+            long lifted = state & ~(SQUARE_MASK << fromShift);
+            long targets = geometry.attacks((byte) piece, from, occupiedSquares);
+            for (; targets != 0L; targets &= targets - 1) {
+                int toShift = Long.numberOfTrailingZeros(targets) * BITS_PER_SQUARE;
+                action.accept(lifted & ~(SQUARE_MASK << toShift) | piece << toShift);
+            }
+        }
+    }
+
     /**
      * displays the config as a chess board
      * @return the toString of a string builder object
@@ -441,7 +467,7 @@ public class ChessConfig implements Configuration {
         StringBuilder config = new StringBuilder();
         for (int i = 0; i < numRows; i++) {
             for (int j = 0; j < numCols; j++) {
-                config.append(chessMap.get(new Coordinates(i, j)));
+                config.append(getPiece(i, j));
                 config.append(" ");
             }
             config.append("\n");
@@ -450,32 +476,29 @@ public class ChessConfig implements Configuration {
     }
 
     /**
-     * a getter method that returns the hashmap representing the chess board
-     * @return the chess hashmap
-     */
-    public HashMap<Coordinates,String> getChessMap(){
-        return this.chessMap;
-    }
-
-    /**
-     * produces a unique integer value of a specific ChessConfig object
+     * produces a hash of a specific ChessConfig object from its Zobrist key
      * @return an integer
      */
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        return (int) (key ^ (key >>> 32));
     }
 
     /**
-     * checks if two configs are equal to each other
+     * checks if two configs have the same pieces on the same squares
      * @param other - the other config
      * @return true or false
      */
     @Override
     public boolean equals(Object other){
+        if (this == other) {
+            return true;
+        }
         if (other instanceof ChessConfig) {
-            Configuration config = (ChessConfig) other;
-            return config.hashCode() == this.hashCode();
+            ChessConfig config = (ChessConfig) other;
+            return config.key == this.key && config.occupied == this.occupied
+                    && config.numRows == this.numRows && config.numCols == this.numCols
+                    && Arrays.equals(config.board, this.board);
         }
         return false;
     }
@@ -0,0 +1,316 @@
+package puzzles.chess.model;
+
+import puzzles.common.solver.Configuration;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The distance to a solution of every board that can be reached from a starting board.
+ * Every capture removes a piece, so the boards reachable from a start form layers by piece count
+ * and no board can be reached twice along one path. The table is built by exploring every layer
+ * once, then working back up from the last layer: a board is solvable if it has one piece left or
+ * one of its captures leads to a solvable board.
+ * Each board is kept as its {@link ChessCodec} bytes next to its 64-bit Zobrist key, in the order
+ * the boards were found, and an open addressing index of ints finds them by key. A lookup compares
+ * the bytes as well as the key, so two boards with the same key can not be mixed up. As boards are
+ * found a layer at a time, every capture leads to a board found later, so working back up is just
+ * going through the boards from last to first and no layers have to be kept.
+ * A table of n boards of s squares takes about 17 + s/2 bytes per board in memory and on disk,
+ * plus 8 bytes per board of index in memory.
+ * @author Aneesh Bukya
+ */
+public class ChessDistanceTable {
+    /** the distance of a board that can not be solved */
+    public static final int UNSOLVABLE = -1;
+    /** the distance of a board that is not in the table */
+    public static final int UNKNOWN = -2;
+    /** marks the start of a table file */
+    private static final int MAGIC = 0x43485445;
+    /** the most boards a table can hold, so the index stays within an int array */
+    private static final int MAX_BOARDS = 1 << 28;
+    /** encodes the boards */
+    private static final ChessCodec CODEC = new ChessCodec();
+
+    /** the number of rows of the boards in the table */
+    private final int numRows;
+    /** the number of columns of the boards in the table */
+    private final int numCols;
+    /** the bytes of one encoded board */
+    private final int stride;
+    /** the most boards this table can hold, so the encoded boards stay within a byte array */
+    private final int capacity;
+    /** the number of boards */
+    private int size;
+    /** the key of every board, in the order they were added */
+    private long[] keys;
+    /** the encoded boards, stride bytes each, in the same order */
+    private byte[] boards;
+    /** the distance of every board, in the same order */
+    private byte[] distances;
+    /** the index, a power of two slots each holding a board's number plus one, 0 for an empty slot */
+    private int[] slots;
+
+    /**
+     * creates an empty table
+     * @param numRows - the number of rows of the boards
+     * @param numCols - the number of columns of the boards
+     * @param expected - the number of boards expected
+     */
+    private ChessDistanceTable(int numRows, int numCols, int expected) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.stride = 2 + (numRows * numCols + 1) / 2;
+        this.capacity = Math.min(MAX_BOARDS, (Integer.MAX_VALUE - 8) / stride);
+        int room = Math.max(16, expected);
+        this.keys = new long[room];
+        this.boards = new byte[room * stride];
+        this.distances = new byte[room];
+        this.slots = new int[Integer.highestOneBit(room - 1) << 2];
+    }
+
+    /**
+     * explores every board reachable from a start board and works out their distances
+     * @param start - the start board
+     * @return the table
+     */
+    public static ChessDistanceTable build(ChessConfig start) {
+        ChessDistanceTable table = new ChessDistanceTable(start.numRows, start.numCols, 0);
+        table.add(start);
+        // the boards of each layer follow those of the layer before, so expanding them in order is a breadth first search
+        for (int board = 0; board < table.size; board++) {
+            for (Iterator<Configuration> nbrs = table.board(board).neighbors(); nbrs.hasNext(); ) {
+                table.add((ChessConfig) nbrs.next());
+            }
+        }
+        for (int board = table.size - 1; board >= 0; board--) {
+            ChessConfig config = table.board(board);
+            int distance = UNSOLVABLE;
+            if (config.isSolution()) {
+                distance = 0;
+            } else {
+                // the captures are all found after this board, so they are already done
+                for (Iterator<Configuration> nbrs = config.neighbors(); nbrs.hasNext(); ) {
+                    int nbrDistance = table.distance((ChessConfig) nbrs.next());
+                    if (nbrDistance >= 0 && (distance == UNSOLVABLE || nbrDistance + 1 < distance)) {
+                        distance = nbrDistance + 1;
+                    }
+                }
+            }
+            table.distances[board] = (byte) distance;
+        }
+        return table;
+    }
+
+    /**
+     * encodes a board
+     * @param config - the board
+     * @return its bytes
+     */
+    private byte[] encode(ChessConfig config) {
+        byte[] bytes = new byte[stride];
+        CODEC.encode(config, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * decodes a board of the table
+     * @param board - the board's number
+     * @return the board
+     */
+    private ChessConfig board(int board) {
+        return CODEC.decode(ByteBuffer.wrap(boards, board * stride, stride));
+    }
+
+    /**
+     * the first slot to look in for a key
+     * @param key - the key
+     * @return the slot
+     */
+    private int home(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        return (int) (key ^ key >>> 33) & (slots.length - 1);
+    }
+
+    /**
+     * finds a board
+     * @param key - the board's key
+     * @param bytes - the encoded board
+     * @return the board's number, or minus one minus the empty slot it would go in
+     */
+    private int find(long key, byte[] bytes) {
+        int slot = home(key);
+        for (int board = slots[slot] - 1; board >= 0; board = slots[slot] - 1) {
+            if (keys[board] == key && Arrays.equals(boards, board * stride, board * stride + stride, bytes, 0, stride)) {
+                return board;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return -1 - slot;
+    }
+
+    /**
+     * adds a board to the end of the table, if it is not there yet
+     * @param config - the board
+     */
+    private void add(ChessConfig config) {
+        byte[] bytes = encode(config);
+        int slot = -1 - find(config.getKey(), bytes);
+        if (slot < 0) {
+            return;
+        }
+        if (size == keys.length) {
+            if (size == capacity) {
+                throw new IllegalStateException("Too many boards for a distance table: " + size);
+            }
+            int room = (int) Math.min(capacity, 2L * size);
+            keys = Arrays.copyOf(keys, room);
+            boards = Arrays.copyOf(boards, room * stride);
+            distances = Arrays.copyOf(distances, room);
+        }
+        keys[size] = config.getKey();
+        System.arraycopy(bytes, 0, boards, size * stride, stride);
+        distances[size] = UNSOLVABLE;
+        slots[slot] = ++size;
+        if (2 * size > slots.length) {
+            index(slots.length * 2);
+        }
+    }
+
+    /**
+     * rebuilds the index with a number of slots
+     * @param capacity - the number of slots, a power of two more than twice the number of boards
+     */
+    private void index(int capacity) {
+        slots = new int[capacity];
+        for (int board = 0; board < size; board++) {
+            int slot = home(keys[board]);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = board + 1;
+        }
+    }
+
+    /**
+     * looks up the distance of a board
+     * @param config - the board
+     * @return the number of captures to a solution, {@link #UNSOLVABLE}, or {@link #UNKNOWN} if the board
+     * is not in the table
+     */
+    public int distance(ChessConfig config) {
+        if (config.numRows != numRows || config.numCols != numCols) {
+            return UNKNOWN;
+        }
+        int board = find(config.getKey(), encode(config));
+        return board < 0 ? UNKNOWN : distances[board];
+    }
+
+    /**
+     * finds the next board on a shortest path to a solution
+     * @param config - the board
+     * @return the next board, null if the board is solved, unsolvable or not in the table
+     */
+    public ChessConfig next(ChessConfig config) {
+        int distance = distance(config);
+        if (distance <= 0) {
+            return null;
+        }
+        for (Iterator<Configuration> nbrs = config.neighbors(); nbrs.hasNext(); ) {
+            ChessConfig nbr = (ChessConfig) nbrs.next();
+            if (distance(nbr) == distance - 1) {
+                return nbr;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * the shortest path from a board to a solution
+     * @param config - the board
+     * @return the boards on the path, starting with the given one, empty if there is no solution
+     * or the board is not in the table
+     */
+    public List<Configuration> path(ChessConfig config) {
+        List<Configuration> path = new ArrayList<>();
+        if (distance(config) < 0) {
+            return path;
+        }
+        for (ChessConfig current = config; current != null; current = next(current)) {
+            path.add(current);
+        }
+        return path;
+    }
+
+    /**
+     * the number of boards in the table
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * saves the table
+     * @param file - where to save it
+     * @throws IOException - if the file can not be written
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(numRows);
+            out.writeInt(numCols);
+            out.writeInt(size);
+            for (int board = 0; board < size; board++) {
+                out.writeLong(keys[board]);
+                out.write(boards, board * stride, stride);
+                out.writeByte(distances[board]);
+            }
+        }
+    }
+
+    /**
+     * loads a table saved by {@link #write(Path)}
+     * @param file - the saved table
+     * @return the table
+     * @throws IOException - if the file can not be read or is not a table
+     */
+    public static ChessDistanceTable read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a chess distance table: " + file);
+            }
+            int numRows = in.readInt();
+            int numCols = in.readInt();
+            int size = in.readInt();
+            try {
+                ChessGeometry.of(numRows, numCols);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage() + " in chess distance table " + file);
+            }
+            if (size < 0) {
+                throw new IOException("Bad chess distance table header in " + file);
+            }
+            ChessDistanceTable table = new ChessDistanceTable(numRows, numCols, 0);
+            if (size > table.capacity) {
+                throw new IOException("Too many boards in chess distance table " + file);
+            }
+            table = new ChessDistanceTable(numRows, numCols, size);
+            for (int board = 0; board < size; board++) {
+                table.keys[board] = in.readLong();
+                in.readFully(table.boards, board * table.stride, table.stride);
+                table.distances[board] = in.readByte();
+            }
+            table.size = size;
+            table.index(table.slots.length);
+            return table;
+        }
+    }
+}
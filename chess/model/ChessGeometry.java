@@ -0,0 +1,208 @@
+package puzzles.chess.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed move tables for one board size. Squares are numbered in row-major order,
+ * square = row * numCols + col, and every table entry is a 64-bit mask with one bit per square.
+ * The tables only depend on the dimensions, so all boards of the same size share one instance.
+ * @author Aneesh Bukya
+ */
+final class ChessGeometry {
+    /** the largest number of squares a board can have and still fit in a mask */
+    static final int MAX_SQUARES = Long.SIZE;
+    /** row and column steps of the eight ray directions, the first four are orthogonal */
+    private static final int[][] DIRECTIONS = {
+            {-1, 0}, {1, 0}, {0, -1}, {0, 1},
+            {-1, 1}, {1, 1}, {-1, -1}, {1, -1}
+    };
+    /** index of the first diagonal direction */
+    static final int FIRST_DIAGONAL = 4;
+    /** the number of ray directions */
+    static final int NUM_DIRECTIONS = DIRECTIONS.length;
+    /** row and column steps of a knight */
+    private static final int[][] KNIGHT_STEPS = {
+            {-2, -1}, {-2, 1}, {-1, 2}, {1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}
+    };
+    /** row and column steps of a king */
+    private static final int[][] KING_STEPS = {
+            {-1, 0}, {1, 0}, {0, -1}, {0, 1}, {-1, 1}, {1, 1}, {-1, -1}, {1, -1}
+    };
+    /** row and column steps of a pawn, which only captures diagonally upwards */
+    private static final int[][] PAWN_STEPS = {
+            {-1, 1}, {-1, -1}
+    };
+    /** the tables that have been built so far, keyed by dimensions */
+    private static final Map<Integer, ChessGeometry> CACHE = new ConcurrentHashMap<>();
+
+    /** number of rows */
+    final int numRows;
+    /** number of columns */
+    final int numCols;
+    /** squares a knight on each square attacks */
+    final long[] knight;
+    /** squares a king on each square attacks */
+    final long[] king;
+    /** squares a pawn on each square attacks */
+    final long[] pawn;
+    /** for each direction and square, every square along the ray not including the square itself */
+    final long[][] rays;
+    /** true if square numbers increase when walking along the direction */
+    final boolean[] ascending;
+    /**
+     * the rotations and reflections that map the board onto itself, each as the square every
+     * square is sent to. The first one is the identity. Square boards have eight, others four.
+     */
+    final int[][] symmetries;
+
+    /**
+     * builds the tables for one board size
+     * @param numRows - the number of rows
+     * @param numCols - the number of columns
+     */
+    private ChessGeometry(int numRows, int numCols) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        int squares = numRows * numCols;
+        this.knight = new long[squares];
+        this.king = new long[squares];
+        this.pawn = new long[squares];
+        this.rays = new long[NUM_DIRECTIONS][squares];
+        this.ascending = new boolean[NUM_DIRECTIONS];
+        for (int d = 0; d < NUM_DIRECTIONS; d++) {
+            ascending[d] = DIRECTIONS[d][0] * numCols + DIRECTIONS[d][1] > 0;
+        }
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                int square = i * numCols + j;
+                knight[square] = steps(i, j, KNIGHT_STEPS);
+                king[square] = steps(i, j, KING_STEPS);
+                pawn[square] = steps(i, j, PAWN_STEPS);
+                for (int d = 0; d < NUM_DIRECTIONS; d++) {
+                    long ray = 0L;
+                    int r = i + DIRECTIONS[d][0];
+                    int c = j + DIRECTIONS[d][1];
+                    while (contains(r, c)) {
+                        ray |= 1L << (r * numCols + c);
+                        r += DIRECTIONS[d][0];
+                        c += DIRECTIONS[d][1];
+                    }
+                    rays[d][square] = ray;
+                }
+            }
+        }
+        // every symmetry is an optional transpose followed by optional row and column flips,
+        // and only square boards can be transposed onto themselves
+        this.symmetries = new int[numRows == numCols ? 8 : 4][squares];
+        for (int t = 0; t < symmetries.length; t++) {
+            boolean transpose = (t & 4) != 0;
+            boolean flipRows = (t & 2) != 0;
+            boolean flipCols = (t & 1) != 0;
+            for (int i = 0; i < numRows; i++) {
+                for (int j = 0; j < numCols; j++) {
+                    int r = transpose ? j : i;
+                    int c = transpose ? i : j;
+                    if (flipRows) {
+                        r = numRows - 1 - r;
+                    }
+                    if (flipCols) {
+                        c = numCols - 1 - c;
+                    }
+                    symmetries[t][i * numCols + j] = r * numCols + c;
+                }
+            }
+        }
+    }
+
+    /**
+     * returns the shared tables for a board size
+     * @param numRows - the number of rows
+     * @param numCols - the number of columns
+     * @return the tables
+     * @throws IllegalArgumentException - if the board has more than {@link #MAX_SQUARES} squares
+     */
+    static ChessGeometry of(int numRows, int numCols) {
+        // each side is checked on its own first, so neither the product nor the cache key can overflow
+        if (numRows <= 0 || numCols <= 0 || numRows > MAX_SQUARES || numCols > MAX_SQUARES
+                || numRows * numCols > MAX_SQUARES) {
+            throw new IllegalArgumentException("Unsupported board size " + numRows + "x" + numCols);
+        }
+        return CACHE.computeIfAbsent(numRows * (MAX_SQUARES + 1) + numCols,
+                key -> new ChessGeometry(numRows, numCols));
+    }
+
+    /**
+     * tells us if a row and column are on the board
+     * @param row - the row
+     * @param col - the column
+     * @return true or false
+     */
+    boolean contains(int row, int col) {
+        return row >= 0 && row < numRows && col >= 0 && col < numCols;
+    }
+
+    /**
+     * the mask of squares a piece on a square can capture
+     * @param piece - the piece code, see {@link ChessConfig}
+     * @param square - the square the piece is on
+     * @param occupied - mask of all occupied squares
+     * @return the mask of target squares
+     */
+    long attacks(byte piece, int square, long occupied) {
+        switch (piece) {
+            case ChessConfig.KNIGHT_CODE:
+                return knight[square] & occupied;
+            case ChessConfig.KING_CODE:
+                return king[square] & occupied;
+            case ChessConfig.PAWN_CODE:
+                return pawn[square] & occupied;
+            case ChessConfig.ROOK_CODE:
+                return slide(square, occupied, 0, FIRST_DIAGONAL);
+            case ChessConfig.BISHOP_CODE:
+                return slide(square, occupied, FIRST_DIAGONAL, NUM_DIRECTIONS);
+            case ChessConfig.QUEEN_CODE:
+                return slide(square, occupied, 0, NUM_DIRECTIONS);
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * the mask of the first occupied square in each of the given directions from a square
+     * @param square - the square the sliding piece is on
+     * @param occupied - mask of all occupied squares
+     * @param from - first direction to scan
+     * @param to - one past the last direction to scan
+     * @return the mask of squares the piece can capture
+     */
+    private long slide(int square, long occupied, int from, int to) {
+        long targets = 0L;
+        for (int d = from; d < to; d++) {
+            long blockers = rays[d][square] & occupied;
+            if (blockers != 0L) {
+                targets |= ascending[d] ? Long.lowestOneBit(blockers) : Long.highestOneBit(blockers);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * builds the mask of the squares reached by single steps from a square
+     * @param row - the row of the square
+     * @param col - the column of the square
+     * @param steps - the row and column offsets
+     * @return the mask
+     */
+    private long steps(int row, int col, int[][] steps) {
+        long mask = 0L;
+        for (int[] step : steps) {
+            int r = row + step[0];
+            int c = col + step[1];
+            if (contains(r, c)) {
+                mask |= 1L << (r * numCols + c);
+            }
+        }
+        return mask;
+    }
+}
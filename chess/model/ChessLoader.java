@@ -0,0 +1,202 @@
+package puzzles.chess.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads chess boards from files quickly. The whole file is read in one go, or memory mapped if
+ * it is large, and the tokens are parsed by hand straight into piece codes, with no lines,
+ * strings or regular expressions in between.
+ * A board is its number of rows and columns followed by one piece per square, row by row:
+ * <pre>
+ *     2 3
+ *     K . Q
+ *     . N P
+ * </pre>
+ * Only the order of the tokens matters, not how they are split into lines. A bundle file holds
+ * any number of boards one after another, and may have blank lines and comment lines starting
+ * with # between them.
+ * @author Aneesh Bukya
+ */
+public final class ChessLoader {
+    /** files bigger than this are memory mapped rather than read */
+    private static final long MAP_THRESHOLD = 1 << 20;
+    /** the piece code of each ASCII character, -1 if it is not a piece */
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        for (byte code = 0; code < ChessConfig.PIECES.length; code++) {
+            CODES[ChessConfig.PIECES[code].charAt(0)] = code;
+        }
+    }
+
+    /** the file's contents */
+    private final ByteBuffer bytes;
+    /** the file, for error messages */
+    private final Path file;
+    /** the line the parser is on, for error messages */
+    private int line = 1;
+
+    /**
+     * creates a parser for a file's contents
+     * @param bytes - the contents
+     * @param file - the file
+     */
+    private ChessLoader(ByteBuffer bytes, Path file) {
+        this.bytes = bytes;
+        this.file = file;
+    }
+
+    /**
+     * loads the board in a file
+     * @param file - the board file
+     * @return the config
+     * @throws IOException - if the file can not be read or does not start with a valid board
+     */
+    public static ChessConfig load(Path file) throws IOException {
+        ChessConfig config = new ChessLoader(read(file), file).next();
+        if (config == null) {
+            throw new IOException("No board in " + file);
+        }
+        return config;
+    }
+
+    /**
+     * loads every board in a bundle file
+     * @param file - the bundle file
+     * @return the configs, in the order they are in the file
+     * @throws IOException - if the file can not be read or holds something that is not a board
+     */
+    public static List<ChessConfig> loadBundle(Path file) throws IOException {
+        ChessLoader loader = new ChessLoader(read(file), file);
+        List<ChessConfig> configs = new ArrayList<>();
+        for (ChessConfig config = loader.next(); config != null; config = loader.next()) {
+            configs.add(config);
+        }
+        return configs;
+    }
+
+    /**
+     * reads a whole file, mapping it if it is large
+     * @param file - the file
+     * @return its contents, ready for reading
+     * @throws IOException - if it can not be read
+     */
+    private static ByteBuffer read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the buffer is full or the file ends
+            }
+            return buffer.flip();
+        }
+    }
+
+    /**
+     * parses the next board
+     * @return the config, null if only blank space and comments are left
+     * @throws IOException - if what follows is not a valid board
+     */
+    private ChessConfig next() throws IOException {
+        if (!skipSpace()) {
+            return null;
+        }
+        int numRows = number();
+        skipSpace();
+        int numCols = number();
+        try {
+            ChessGeometry.of(numRows, numCols);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage() + " at line " + line + " of " + file);
+        }
+        byte[] codes = new byte[numRows * numCols];
+        for (int square = 0; square < codes.length; square++) {
+            if (!skipSpace()) {
+                throw new IOException("Board ends early at line " + line + " of " + file);
+            }
+            codes[square] = piece();
+        }
+        return new ChessConfig(numRows, numCols, codes);
+    }
+
+    /**
+     * moves past white space and comments
+     * @return true if there is a token after them, false at the end of the file
+     */
+    private boolean skipSpace() {
+        while (bytes.hasRemaining()) {
+            byte b = bytes.get(bytes.position());
+            if (b == '#') {
+                while (bytes.hasRemaining() && bytes.get(bytes.position()) != '\n') {
+                    bytes.get();
+                }
+            } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                if (b == '\n') {
+                    line++;
+                }
+                bytes.get();
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * tells us if the parser is at the end of a token
+     * @return true at white space or the end of the file
+     */
+    private boolean atTokenEnd() {
+        if (!bytes.hasRemaining()) {
+            return true;
+        }
+        byte b = bytes.get(bytes.position());
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * parses a whole number token
+     * @return the number
+     * @throws IOException - if the token is not a number
+     */
+    private int number() throws IOException {
+        int value = 0;
+        int digits = 0;
+        while (!atTokenEnd()) {
+            byte b = bytes.get();
+            if (b < '0' || b > '9' || ++digits > 6) {
+                throw new IOException("Expected a board size at line " + line + " of " + file);
+            }
+            value = value * 10 + (b - '0');
+        }
+        if (digits == 0) {
+            throw new IOException("Expected a board size at line " + line + " of " + file);
+        }
+        return value;
+    }
+
+    /**
+     * parses a one character piece token
+     * @return the piece code
+     * @throws IOException - if the token is not a piece
+     */
+    private byte piece() throws IOException {
+        byte b = bytes.get();
+        byte code = b >= 0 ? CODES[b] : -1;
+        if (code < 0 || !atTokenEnd()) {
+            throw new IOException("Unknown piece at line " + line + " of " + file);
+        }
+        return code;
+    }
+}
@@ -3,10 +3,18 @@ package puzzles.chess.model;
 import puzzles.common.Coordinates;
 import puzzles.common.Observer;
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SolutionCache;
 import puzzles.common.solver.Solver;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * A class that has the representation, logic and rules of the game.
@@ -18,12 +26,33 @@ public class ChessModel {
 
     /** the current configuration */
     private ChessConfig currentConfig;
-    /** the list containing the neighbours */
-    private ArrayList<Configuration> neighbourList = new ArrayList<>();
-    /** a set of coordinates used in the select method  */
+    /** the coordinates of the piece picked by the first half of a selection, null if none is picked */
     private Coordinates coordinates;
     /** stores the name file being read */
     private String nameFile;
+    /** the most configs the hint cache remembers */
+    private static final int HINT_CACHE_SIZE = 100_000;
+    /** the next move and distance of every config on a path solved by an earlier hint */
+    private final SolutionCache hintCache = new SolutionCache(HINT_CACHE_SIZE);
+    /** runs hint searches off the caller's thread, one at a time */
+    private final ExecutorService hintExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chess-hint");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** writes searched hints to the solution store, apart from the hint searches so cancelling one
+     * can not interrupt a write, which would close the store's files for good */
+    private final ExecutorService storeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chess-store");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** the hint search that is running, null if none has been started */
+    private Future<?> pendingHint;
+    /** the distances of every board reachable from the loaded puzzle, null until precomputed */
+    private ChessDistanceTable distanceTable;
+    /** the boards solved by earlier runs, null if the store is turned off or could not be opened */
+    private final ChessSolutionStore store = ChessSolutionStore.openDefault();
 
 
 
@@ -53,7 +82,7 @@ public class ChessModel {
      */
     public String getCell(int r, int c){
         if (currentConfig.hasCoordinates(new Coordinates(r,c))) {
-            return this.currentConfig.getChessMap().get(new Coordinates(r, c));
+            return this.currentConfig.getPiece(r, c);
         }
         return "Invalid";
     }
@@ -71,7 +100,7 @@ public class ChessModel {
      * The previously loaded file should be reloaded, causing the puzzle to return to its initial state.
      * An indication of the reset should be informed to the user.
      */
-    public void reset(){
+    public synchronized void reset(){
         load(nameFile);
         alertObservers("Puzzle reset!");
     }
@@ -81,17 +110,115 @@ public class ChessModel {
      * When hinting, if the current state of the puzzle is solvable, the puzzle should advance to the next step in
      * the solution with an indication that it was successful. Otherwise, the puzzle should remain in the same state and
      * indicate there is no solution.
+     * The whole path found is cached, so following hints, or hinting again after a reset, does not search again.
+     * It is also saved in the solution store, so boards solved by earlier runs are answered straight away.
+     * Looking the board up in the store, and searching if it is not there, runs in the background, and a search
+     * reports its progress to the observers. It is cancelled by another hint, a load or a reset.
+     * @return a future that completes once the hint has been given, and can be used to cancel the search
      */
-    public void hint(){
-        Solver solver = new Solver();
-        ArrayList<Configuration> solutionList = new ArrayList<>(solver.solve(this.currentConfig));
-        if (solutionList.size()==1){
+    public synchronized Future<?> hint(){
+        cancelHint();
+        ChessConfig start = this.currentConfig;
+        if (distanceTable != null && distanceTable.distance(start) != ChessDistanceTable.UNKNOWN) {
+            int distance = distanceTable.distance(start);
+            giveHint(start, new SolutionCache.Entry(distance, distanceTable.next(start)));
+            return CompletableFuture.completedFuture(null);
+        }
+        SolutionCache.Entry entry = hintCache.get(start);
+        if (entry != null) {
+            giveHint(start, entry);
+            return CompletableFuture.completedFuture(null);
+        }
+        pendingHint = hintExecutor.submit(() -> {
+            // the store is read on its own thread too, so the caller never waits on its file and
+            // cancelling the hint can not interrupt a read, which would close the store's files
+            SolutionCache.Entry known;
+            try {
+                known = storeExecutor.submit(() -> stored(start)).get();
+            } catch (ExecutionException e) {
+                known = null;
+            }
+            if (known != null) {
+                giveHint(start, known);
+                return null;
+            }
+            alertObservers("> Solving...");
+            Solver solver = new Solver();
+            solver.setListener(layer -> alertObservers("> Solving: depth " + layer.depth() + ", "
+                    + layer.uniqueConfigs() + " configs explored"));
+            ArrayList<Configuration> solutionList = new ArrayList<>(solver.solve(start));
+            if (solutionList.isEmpty()) {
+                hintCache.putUnsolvable(start);
+            } else {
+                hintCache.putPath(solutionList);
+            }
+            storeExecutor.execute(() -> store(start, solutionList));
+            giveHint(start, hintCache.get(start));
+            return null;
+        });
+        return pendingHint;
+    }
+
+    /**
+     * looks a board up in the solution store
+     * @param config - the board
+     * @return what the store knows about it, null if nothing or the store can not be read
+     */
+    private SolutionCache.Entry stored(ChessConfig config) {
+        if (store != null) {
+            try {
+                return store.get(config);
+            } catch (IOException ie) {
+                // the store only saves time, so a failure is the same as not knowing
+            }
+        }
+        return null;
+    }
+
+    /**
+     * records the outcome of a search in the solution store, so later runs do not search again
+     * @param start - the board searched from
+     * @param path - the path found, empty if there is none
+     */
+    private void store(ChessConfig start, List<Configuration> path) {
+        if (store != null) {
+            try {
+                if (path.isEmpty()) {
+                    store.putUnsolvable(start);
+                } else {
+                    store.putPath(path);
+                }
+            } catch (IOException ie) {
+                // the store only saves time, so the hint is given anyway
+            }
+        }
+    }
+
+    /**
+     * cancels the hint search that is running, if any
+     */
+    private synchronized void cancelHint() {
+        if (pendingHint != null) {
+            pendingHint.cancel(true);
+            pendingHint = null;
+        }
+    }
+
+    /**
+     * advances the puzzle by one step of a solution, unless the board has changed since the hint was asked for
+     * @param start - the config the hint was asked for
+     * @param entry - what is known about that config
+     */
+    private synchronized void giveHint(ChessConfig start, SolutionCache.Entry entry) {
+        if (this.currentConfig != start) {
+            return;
+        }
+        if (entry.distance()==0){
             alertObservers("Already Solved!");
-        } else if (solutionList.size()==0) {
+        } else if (!entry.isSolvable()) {
             alertObservers("No Solution!");
-        } else if (solutionList.get(1) instanceof ChessConfig){
-            Configuration config = solutionList.get(1);
-            this.currentConfig = (ChessConfig) config;
+        } else if (entry.next() instanceof ChessConfig){
+            this.currentConfig = (ChessConfig) entry.next();
             alertObservers("> Next step!");
         }
     }
@@ -106,16 +233,16 @@ public class ChessModel {
      * @param row - the row of the coordinates
      * @param col - the column of the coordinates
      */
-    public void select(int row, int col){
+    public synchronized void select(int row, int col){
         Coordinates coordinates1;
-        if (neighbourList.isEmpty()){
-            coordinates = new Coordinates(row,col);
-            if(!this.currentConfig.getChessMap().get(coordinates).equals(".")){
-                neighbourList = new ArrayList<>(this.currentConfig.getNeighbors());
+        if (coordinates == null){
+            coordinates1 = new Coordinates(row,col);
+            if(!this.currentConfig.getPiece(coordinates1).equals(".")){
+                coordinates = coordinates1;
                 alertObservers("> Selected "+coordinates.toString());
             }
             else{
-                alertObservers("> Invalid selection "+coordinates);
+                alertObservers("> Invalid selection "+coordinates1);
             }
         }
         else{
@@ -124,29 +251,45 @@ public class ChessModel {
                 alertObservers("> Invalid selection "+coordinates);
                 return;
             }
-            if(!this.currentConfig.getChessMap().get(coordinates1).equals(".")){
-                ChessConfig compareConfig = new ChessConfig(this.currentConfig);
-                compareConfig.getChessMap().put(coordinates1,this.currentConfig.getChessMap().get(coordinates));
-                compareConfig.getChessMap().put(coordinates,".");
-                for (Configuration config :neighbourList){
-                    ChessConfig newConfig = (ChessConfig) config;
-                    if (newConfig.equals(compareConfig)){
-                        this.currentConfig = compareConfig;
-                        neighbourList = new ArrayList<>();
-                        alertObservers("> Captured from "+coordinates+"  to "+coordinates1);
-                        return;
-                    }
+            Coordinates from = coordinates;
+            coordinates = null;
+            if(this.currentConfig.canCapture(from, coordinates1)){
+                this.currentConfig = this.currentConfig.move(from, coordinates1);
+                if (distanceTable != null && distanceTable.distance(currentConfig) == ChessDistanceTable.UNSOLVABLE) {
+                    alertObservers("> Captured from "+from+"  to "+coordinates1+" - no solution from here");
+                } else {
+                    alertObservers("> Captured from "+from+"  to "+coordinates1);
                 }
-                alertObservers("> Can't capture from "+coordinates+"  to "+ coordinates1);
-                neighbourList = new ArrayList<>();
             }
             else{
-                alertObservers("> Can't capture from "+coordinates+"  to "+ coordinates1);
-                neighbourList = new ArrayList<>();
+                alertObservers("> Can't capture from "+from+"  to "+ coordinates1);
             }
         }
     }
 
+    /**
+     * Explores every board reachable from the current one and records its distance to a solution, so that hints
+     * are answered without searching and a capture into a dead end is reported straight away.
+     * The table stays in use until it is replaced; boards that are not in it fall back to searching.
+     * @param tableFile - a file to load the table from if it exists, or save it to otherwise, null for neither
+     */
+    public synchronized void precompute(Path tableFile){
+        try {
+            if (tableFile != null && Files.exists(tableFile)) {
+                distanceTable = ChessDistanceTable.read(tableFile);
+            } else {
+                distanceTable = ChessDistanceTable.build(this.currentConfig);
+                if (tableFile != null) {
+                    distanceTable.write(tableFile);
+                }
+            }
+            alertObservers("> Precomputed " + distanceTable.size() + " boards");
+        }
+        catch (IOException ie){
+            alertObservers("> Failed to precompute: " + ie.getMessage());
+        }
+    }
+
     /**
      * When loading, the user will provide the path and name of a puzzle file for the game to load. If the file is
      * readable it is guaranteed to be a valid puzzle file and the new puzzle file should be loaded and displayed,
@@ -154,7 +297,8 @@ public class ChessModel {
      * previous puzzle file should remain loaded.
      * @param filename - name of the file
      */
-    public void load(String filename){
+    public synchronized void load(String filename){
+        cancelHint();
         try {
             this.nameFile = filename;
             this.currentConfig = new ChessConfig(filename);
@@ -188,7 +332,7 @@ public class ChessModel {
         for (int i = 0; i < row; i++) {
             config.append(i).append("| ");
             for (int j = 0; j < col; j++) {
-                config.append(this.currentConfig.getChessMap().get(new Coordinates(i, j)));
+                config.append(this.currentConfig.getPiece(i, j));
                 config.append(" ");
             }
             config.append("\n");
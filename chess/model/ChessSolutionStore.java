@@ -0,0 +1,460 @@
+package puzzles.chess.model;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SolutionCache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remembers solved chess boards on disk, so a board solved once is answered straight away by
+ * every later run of any front end. For every board on a solution path it records the distance
+ * to a solution and the next board, and it records boards that have no solution.
+ * The records are appended to a log file, each holding the board itself encoded with
+ * {@link ChessCodec}. An index file, an open addressing hash table from board keys to log
+ * offsets, is memory mapped so lookups do not read the whole log; the few records a lookup needs
+ * are read from the log at their offsets, so the log itself is never mapped and can grow freely. The index remembers how much
+ * of the log it covers; on opening, and whenever another process has appended to the log, the
+ * records past that point are read and added to it, so a missing or stale index is rebuilt
+ * rather than trusted. Every lookup checks the board in the record, so a collision of keys can
+ * not give a wrong answer.
+ * Appends hold a lock on the log, so several processes can share one store. Interrupting a thread
+ * that is using the store closes its files, so a store shared by several threads should be used
+ * from one that is never interrupted.
+ * @author Aneesh Bukya
+ */
+public class ChessSolutionStore implements Closeable {
+    /** the system property naming the directory of the default store, "none" to turn it off */
+    public static final String DIRECTORY_PROPERTY = "puzzles.chess.store";
+    /** marks a file as a store index */
+    private static final int MAGIC = 0x43534958;
+    /** the bytes before the first slot of the index: magic, capacity, count, unused, log length */
+    private static final int HEADER_BYTES = 24;
+    /** the bytes of one index slot: the key and the log offset plus one, 0 for an empty slot */
+    private static final int SLOT_BYTES = 16;
+    /** the number of slots of a new index */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    /** the bytes of a record before the boards: its length, key and distance */
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES + 1;
+    /** the longest record that can be valid, two boards of 64 squares plus the header */
+    private static final int MAX_RECORD_BYTES = RECORD_HEADER_BYTES + 2 * (2 + ChessGeometry.MAX_SQUARES / 2);
+    /** the distance recorded for a board without a solution */
+    private static final byte UNSOLVABLE = -1;
+
+    /** the store shared by the front ends, null if it is turned off or could not be opened */
+    private static ChessSolutionStore defaultStore;
+    /** true once opening the shared store has been tried */
+    private static boolean defaultOpened;
+
+    /** encodes the boards in the records */
+    private final ChessCodec codec = new ChessCodec();
+    /** the index file */
+    private final Path indexFile;
+    /** the log, open for reading and appending */
+    private final FileChannel log;
+    /** the index file, open for reading and writing */
+    private FileChannel index;
+    /** the mapped index */
+    private MappedByteBuffer slots;
+    /** the number of slots, a power of two */
+    private int capacity;
+
+    /**
+     * opens a store, creating it if it does not exist
+     * @param directory - the directory holding the log and index files
+     * @return the store
+     * @throws IOException - if the files can not be created or read
+     */
+    public static ChessSolutionStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new ChessSolutionStore(directory.resolve("solutions.log"), directory.resolve("solutions.idx"));
+    }
+
+    /**
+     * opens the store shared by the front ends, in the directory named by the
+     * {@value #DIRECTORY_PROPERTY} system property, or .puzzles/chess in the user's home directory.
+     * It is opened once per JVM and shared, as file locks are held by the whole process.
+     * @return the store, or null if it is turned off or can not be opened
+     */
+    public static synchronized ChessSolutionStore openDefault() {
+        if (!defaultOpened) {
+            defaultOpened = true;
+            String directory = System.getProperty(DIRECTORY_PROPERTY);
+            if (!"none".equals(directory)) {
+                try {
+                    defaultStore = open(directory != null ? Paths.get(directory)
+                            : Paths.get(System.getProperty("user.home"), ".puzzles", "chess"));
+                } catch (IOException | RuntimeException e) {
+                    // the store only saves time, so the front ends carry on without it
+                    defaultStore = null;
+                }
+            }
+        }
+        return defaultStore;
+    }
+
+    /**
+     * opens the files and brings the index up to date with the log
+     * @param logFile - the log file
+     * @param indexFile - the index file
+     * @throws IOException - if the files can not be created or read
+     */
+    private ChessSolutionStore(Path logFile, Path indexFile) throws IOException {
+        this.indexFile = indexFile;
+        this.log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            openIndex();
+            FileLock lock = log.lock();
+            try {
+                catchUp();
+                if (log.size() > indexedLength()) {
+                    // a write that was cut short left part of a record at the end
+                    log.truncate(indexedLength());
+                }
+            } finally {
+                lock.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * maps the index file, starting a new one if it is missing or not an index
+     * @throws IOException - if it can not be created or mapped
+     */
+    private void openIndex() throws IOException {
+        index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (index.size() >= HEADER_BYTES) {
+            MappedByteBuffer header = index.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            int existing = header.getInt(4);
+            if (header.getInt(0) == MAGIC && Integer.bitCount(existing) == 1
+                    && index.size() == HEADER_BYTES + (long) existing * SLOT_BYTES) {
+                capacity = existing;
+                slots = index.map(FileChannel.MapMode.READ_WRITE, 0, index.size());
+                return;
+            }
+        }
+        index.truncate(0);
+        capacity = INITIAL_CAPACITY;
+        slots = index.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * SLOT_BYTES);
+        slots.putInt(0, MAGIC);
+        slots.putInt(4, capacity);
+    }
+
+    /**
+     * the length of the log the index covers
+     * @return the length in bytes
+     */
+    private long indexedLength() {
+        return slots.getLong(16);
+    }
+
+    /**
+     * the number of records in the index
+     * @return the count
+     */
+    public synchronized int size() {
+        return slots.getInt(8);
+    }
+
+    /**
+     * the key a board is indexed under, its Zobrist key mixed with its size
+     * @param config - the board
+     * @return the key
+     */
+    private static long key(ChessConfig config) {
+        return config.getKey() ^ (config.numRows * 65L + config.numCols) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * adds the log records past the end the index covers to the index
+     * @throws IOException - if the log can not be read
+     */
+    private void catchUp() throws IOException {
+        long offset = indexedLength();
+        long end = log.size();
+        while (offset + Integer.BYTES <= end) {
+            ByteBuffer record = record(offset);
+            if (record == null) {
+                break;
+            }
+            insert(record.getLong(Integer.BYTES), offset);
+            offset += Integer.BYTES + record.getInt(0);
+            slots.putLong(16, offset);
+        }
+    }
+
+    /**
+     * gets a complete record from the log
+     * @param offset - where it starts
+     * @return the record, positioned at its first board, or null if there is no complete record there
+     * @throws IOException - if the log can not be read
+     */
+    private ByteBuffer record(long offset) throws IOException {
+        if (offset + RECORD_HEADER_BYTES > log.size()) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        if (!read(header, offset)) {
+            return null;
+        }
+        int length = header.getInt(0);
+        if (length < RECORD_HEADER_BYTES - Integer.BYTES || length > MAX_RECORD_BYTES) {
+            return null;
+        }
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length);
+        if (!read(record, offset)) {
+            return null;
+        }
+        return record.position(RECORD_HEADER_BYTES);
+    }
+
+    /**
+     * fills a buffer from the log
+     * @param buffer - the buffer, filled from its position to its limit
+     * @param offset - where in the log to read from
+     * @return true, or false if the log ends first
+     * @throws IOException - if the log can not be read
+     */
+    private boolean read(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (log.read(buffer, offset + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * adds a record to the index, growing it first if it is half full
+     * @param key - the record's key
+     * @param offset - where the record starts in the log
+     * @throws IOException - if the index has to grow and can not
+     */
+    private void insert(long key, long offset) throws IOException {
+        if (2 * (size() + 1) > capacity) {
+            grow();
+        }
+        int slot = (int) (mix(key) & (capacity - 1));
+        while (slots.getLong(HEADER_BYTES + slot * SLOT_BYTES + Long.BYTES) != 0) {
+            slot = (slot + 1) & (capacity - 1);
+        }
+        slots.putLong(HEADER_BYTES + slot * SLOT_BYTES, key);
+        slots.putLong(HEADER_BYTES + slot * SLOT_BYTES + Long.BYTES, offset + 1);
+        slots.putInt(8, size() + 1);
+    }
+
+    /**
+     * spreads the bits of a key, so keys that differ only in high bits land in different slots
+     * @param key - the key
+     * @return the mixed key
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        return key ^ key >>> 33;
+    }
+
+    /**
+     * rebuilds the index with twice as many slots in a new file that replaces the old one
+     * @throws IOException - if the new file can not be written
+     */
+    private void grow() throws IOException {
+        int bigger = capacity << 1;
+        Path next = indexFile.resolveSibling(indexFile.getFileName() + ".new");
+        try (FileChannel channel = FileChannel.open(next, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer grown = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) bigger * SLOT_BYTES);
+            for (int slot = 0; slot < capacity; slot++) {
+                long offset = slots.getLong(HEADER_BYTES + slot * SLOT_BYTES + Long.BYTES);
+                if (offset != 0) {
+                    long key = slots.getLong(HEADER_BYTES + slot * SLOT_BYTES);
+                    int to = (int) (mix(key) & (bigger - 1));
+                    while (grown.getLong(HEADER_BYTES + to * SLOT_BYTES + Long.BYTES) != 0) {
+                        to = (to + 1) & (bigger - 1);
+                    }
+                    grown.putLong(HEADER_BYTES + to * SLOT_BYTES, key);
+                    grown.putLong(HEADER_BYTES + to * SLOT_BYTES + Long.BYTES, offset);
+                }
+            }
+            grown.putInt(0, MAGIC);
+            grown.putInt(4, bigger);
+            grown.putInt(8, size());
+            grown.putLong(16, indexedLength());
+            grown.force();
+        }
+        index.close();
+        Files.move(next, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openIndex();
+    }
+
+    /**
+     * looks up a board
+     * @param config - the board
+     * @return its distance to a solution and next board, null if it is not in the store
+     * @throws IOException - if the files can not be read
+     */
+    public synchronized SolutionCache.Entry get(ChessConfig config) throws IOException {
+        if (log.size() > indexedLength()) {
+            // another process has added records since the index was last brought up to date
+            FileLock lock = log.lock();
+            try {
+                catchUp();
+            } finally {
+                lock.release();
+            }
+        }
+        long key = key(config);
+        for (int slot = (int) (mix(key) & (capacity - 1)); ; slot = (slot + 1) & (capacity - 1)) {
+            long offset = slots.getLong(HEADER_BYTES + slot * SLOT_BYTES + Long.BYTES) - 1;
+            if (offset < 0) {
+                return null;
+            }
+            if (slots.getLong(HEADER_BYTES + slot * SLOT_BYTES) == key) {
+                SolutionCache.Entry entry = entry(record(offset), config);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+    }
+
+    /**
+     * reads the answer for a board from its record
+     * @param record - the record, null if there is no complete one
+     * @param config - the board
+     * @return the answer, null if the record is for another board or its boards can not be decoded
+     */
+    private SolutionCache.Entry entry(ByteBuffer record, ChessConfig config) {
+        if (record == null) {
+            return null;
+        }
+        try {
+            int distance = record.get(RECORD_HEADER_BYTES - 1);
+            ChessConfig stored = codec.decode(record);
+            if (stored.equals(config)) {
+                return new SolutionCache.Entry(distance, distance > 0 ? codec.decode(record) : null);
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            // a damaged record is the same as a missing one, the board is searched again
+        }
+        return null;
+    }
+
+    /**
+     * follows the stored next boards from a board to a solution
+     * @param config - the board
+     * @return the path from the board to a solution, empty if it has none, null if the store does not know
+     * @throws IOException - if the files can not be read
+     */
+    public synchronized List<Configuration> path(ChessConfig config) throws IOException {
+        SolutionCache.Entry entry = get(config);
+        if (entry == null) {
+            return null;
+        }
+        List<Configuration> path = new ArrayList<>();
+        if (!entry.isSolvable()) {
+            return path;
+        }
+        path.add(config);
+        while (entry.distance() > 0) {
+            ChessConfig next = (ChessConfig) entry.next();
+            path.add(next);
+            entry = get(next);
+            if (entry == null) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * records a shortest path found by a solver, so every board on it is answered later
+     * @param path - the path from the start board to a solution, as returned by a solver
+     * @throws IOException - if the files can not be written
+     */
+    public synchronized void putPath(List<Configuration> path) throws IOException {
+        int last = path.size() - 1;
+        for (int i = last; i >= 0; i--) {
+            ChessConfig config = (ChessConfig) path.get(i);
+            if (get(config) == null) {
+                append(config, last - i, i < last ? (ChessConfig) path.get(i + 1) : null);
+            }
+        }
+    }
+
+    /**
+     * records that a board has no solution
+     * @param config - the board
+     * @throws IOException - if the files can not be written
+     */
+    public synchronized void putUnsolvable(ChessConfig config) throws IOException {
+        if (get(config) == null) {
+            append(config, UNSOLVABLE, null);
+        }
+    }
+
+    /**
+     * appends a record to the log and indexes it
+     * @param config - the board
+     * @param distance - its distance to a solution, UNSOLVABLE if it has none
+     * @param next - the next board on a shortest path, null if there is none
+     * @throws IOException - if the files can not be written
+     */
+    private void append(ChessConfig config, int distance, ChessConfig next) throws IOException {
+        if (distance > Byte.MAX_VALUE) {
+            return;
+        }
+        int length = RECORD_HEADER_BYTES + codec.size(config) + (next != null ? codec.size(next) : 0);
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length - Integer.BYTES);
+        record.putLong(key(config));
+        record.put((byte) distance);
+        codec.encode(config, record);
+        if (next != null) {
+            codec.encode(next, record);
+        }
+        record.flip();
+        FileLock lock = log.lock();
+        try {
+            // pick up what other processes have written, so this record goes after theirs
+            catchUp();
+            long offset = log.size();
+            while (record.hasRemaining()) {
+                log.write(record, offset + record.position());
+            }
+            insert(key(config), offset);
+            slots.putLong(16, offset + length);
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (index != null) {
+                index.close();
+            }
+        } finally {
+            log.close();
+        }
+    }
+}
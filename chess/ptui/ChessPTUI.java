@@ -4,7 +4,10 @@ import puzzles.common.Observer;
 import puzzles.chess.model.ChessModel;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * A Plain-Text user interface for the Chess Game
@@ -46,6 +49,7 @@ public class ChessPTUI implements Observer<ChessModel, String> {
     private void displayHelp() {
         System.out.println( "h(int)              -- hint next move" );
         System.out.println( "l(oad) filename     -- load new puzzle file" );
+        System.out.println( "p(recompute) [file] -- precompute every board's distance" );
         System.out.println( "s(elect) r c        -- select cell at r, c" );
         System.out.println( "q(uit)              -- quit the game" );
         System.out.println( "r(eset)             -- reset the current game" );
@@ -72,7 +76,16 @@ public class ChessPTUI implements Observer<ChessModel, String> {
                         this.model.select(Integer.parseInt(words[1]),Integer.parseInt(words[2]));
                     }
                 } else if (words[0].startsWith("h")) {
-                    this.model.hint();
+                    // the text UI reads one command at a time, so wait for the hint before reading the next
+                    try {
+                        this.model.hint().get();
+                    } catch (ExecutionException | CancellationException e) {
+                        update(this.model, "> Hint failed: " + e.getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else if (words[0].startsWith("p")) {
+                    this.model.precompute(words.length > 1 ? Paths.get(words[1]) : null);
                 } else if (words[0].startsWith("r")) {
                     this.model.reset();
                 }
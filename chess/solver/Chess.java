@@ -1,44 +1,214 @@
 package puzzles.chess.solver;
 
+import puzzles.chess.model.ChessCodec;
 import puzzles.chess.model.ChessConfig;
+import puzzles.chess.model.ChessDistanceTable;
+import puzzles.chess.model.ChessSolutionStore;
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.DepthFirstSolver;
+import puzzles.common.solver.ExternalSolver;
+import puzzles.common.solver.LayerStats;
+import puzzles.common.solver.SearchStrategy;
+import puzzles.common.solver.SolveEvent;
 import puzzles.common.solver.Solver;
+import puzzles.common.solver.StreamingSolver;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * The Clock solver main program
  * @author Aneesh Bukya
  */
 public class Chess {
+    /** how to run the program */
+    private static final String USAGE = "Usage: java Chess filename [--symmetric | --dfs [--prune] | --external] [--table tablefile] [--stats] [--no-store]";
+
     /**
      * the main method which reads the command arguments and carries all the functions
      * @param args - command line
      * @throws IOException - if file not found
      */
     public static void main(String[] args) throws IOException {
-        if (args.length != 1) {
-            System.out.println("Usage: java Chess filename");
+        boolean symmetric = false;
+        boolean depthFirst = false;
+        boolean prune = false;
+        boolean layerStats = false;
+        boolean external = false;
+        boolean useStore = true;
+        Path tableFile = null;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--symmetric")) {
+                symmetric = true;
+            } else if (args[i].equals("--dfs")) {
+                depthFirst = true;
+            } else if (args[i].equals("--prune")) {
+                prune = true;
+            } else if (args[i].equals("--external")) {
+                external = true;
+            } else if (args[i].equals("--no-store")) {
+                useStore = false;
+            } else if (args[i].equals("--stats")) {
+                layerStats = true;
+            } else if (args[i].equals("--table") && i + 1 < args.length) {
+                tableFile = Paths.get(args[++i]);
+            } else {
+                System.out.println(USAGE);
+                return;
+            }
+        }
+        if (args.length < 1) {
+            System.out.println(USAGE);
         } else {
             System.out.println("File: "+args[0]);
             ChessConfig config = new ChessConfig(args[0]);
             System.out.print(config);
-            Solver solver = new Solver();
-            Collection<Configuration> solutions =  solver.solve(config);
-            int numSteps = 0;
-            System.out.println("Total configs: " + solver.getTotalConfigs());
-            System.out.println("Unique configs: " + solver.getUniqueConfigs());
-            if (solutions.size() != 0 ) {
-                for (Configuration configuration : solutions) {
-                    System.out.println("Step " + numSteps + ":");
-                    System.out.println(configuration);
-                    numSteps++;
+            ChessSolutionStore store = useStore ? ChessSolutionStore.openDefault() : null;
+            Collection<Configuration> known = tableFile == null ? stored(store, config) : null;
+            if (tableFile != null) {
+                // answer from a distance table, building and saving it the first time
+                ChessDistanceTable table;
+                if (Files.exists(tableFile)) {
+                    table = ChessDistanceTable.read(tableFile);
+                } else {
+                    table = ChessDistanceTable.build(config);
+                    table.write(tableFile);
+                }
+                if (table.distance(config) == ChessDistanceTable.UNKNOWN) {
+                    System.out.println("Board is not in table " + tableFile);
+                    return;
+                }
+                System.out.println("Table configs: " + table.size());
+                printPath(table.path(config));
+            } else if (known != null) {
+                System.out.println("Stored solution");
+                printPath(known);
+            } else {
+                // print the counters and each step as the search reports them, rather than once it returns
+                boolean dfs = depthFirst, dfsPrune = prune, files = external, symmetry = symmetric, printLayers = layerStats;
+                StreamingSolver solver = new StreamingSolver(() -> solver(dfs, dfsPrune, files, symmetry));
+                List<Configuration> found = new ArrayList<>();
+                solver.consume(config, event -> {
+                    if (event instanceof SolveEvent.Layer layer) {
+                        if (printLayers) {
+                            printLayer(layer.stats());
+                        }
+                    } else if (event instanceof SolveEvent.Finished finished) {
+                        System.out.println("Total configs: " + finished.stats().totalConfigs());
+                        System.out.println("Unique configs: " + finished.stats().uniqueConfigs());
+                    } else if (event instanceof SolveEvent.Step step) {
+                        printStep(step.index(), step.config());
+                        found.add(step.config());
+                    }
+                }).join();
+                store(store, config, found);
+                if (found.isEmpty()) {
+                    System.out.println("No solution");
                 }
             }
-            else{
-                System.out.println("No solution");
+        }
+    }
+
+    /**
+     * prints a path that is already known
+     * @param solutions - the path, empty if there is no solution
+     */
+    private static void printPath(Collection<Configuration> solutions) {
+        int numSteps = 0;
+        if (solutions.size() != 0 ) {
+            for (Configuration configuration : solutions) {
+                printStep(numSteps, configuration);
+                numSteps++;
             }
         }
+        else{
+            System.out.println("No solution");
+        }
+    }
+
+    /**
+     * creates the solver chosen on the command line
+     * @param depthFirst - true for a depth first search
+     * @param prune - true to prune the depth first search
+     * @param external - true for a breadth first search that keeps its layers in files
+     * @param symmetric - true to only visit one of each group of rotated or reflected boards
+     * @return the solver
+     */
+    private static SearchStrategy solver(boolean depthFirst, boolean prune, boolean external, boolean symmetric) {
+        if (depthFirst) {
+            // every capture removes a piece, so every solution is equally short and depth first finds one
+            return new DepthFirstSolver(prune);
+        } else if (external) {
+            // keep the layers in temporary files, for boards whose states do not fit in memory
+            return new ExternalSolver(new ChessCodec());
+        }
+        Solver bfs = new Solver();
+        // only visit one of each group of rotated or reflected boards
+        bfs.setSymmetryReduction(symmetric);
+        return bfs;
+    }
+
+    /**
+     * prints one step of a path
+     * @param index - the step's position on the path
+     * @param config - the board at that step
+     */
+    private static void printStep(int index, Configuration config) {
+        System.out.println("Step " + index + ":");
+        System.out.println(config);
+    }
+
+    /**
+     * looks a board up in the solution store
+     * @param store - the store, null if it is not used
+     * @param config - the board
+     * @return the path the store knows of, empty if it knows there is none, null if it does not
+     * know or can not be read
+     */
+    private static Collection<Configuration> stored(ChessSolutionStore store, ChessConfig config) {
+        if (store != null) {
+            try {
+                return store.path(config);
+            } catch (IOException ie) {
+                // the store only saves time, so a failure is the same as not knowing
+            }
+        }
+        return null;
+    }
+
+    /**
+     * saves the outcome of a search in the solution store, so the next run, or the PTUI and GUI,
+     * do not search again
+     * @param store - the store, null if it is not used
+     * @param start - the board searched from
+     * @param path - the path found, empty if there is none
+     */
+    private static void store(ChessSolutionStore store, ChessConfig start, List<Configuration> path) {
+        if (store != null) {
+            try {
+                if (path.isEmpty()) {
+                    store.putUnsolvable(start);
+                } else {
+                    store.putPath(path);
+                }
+            } catch (IOException ie) {
+                // the store only saves time, so the answer has been printed anyway
+            }
+        }
+    }
+
+    /**
+     * prints one line about a layer of the search
+     * @param layer - the layer's counters
+     */
+    private static void printLayer(LayerStats layer) {
+        System.out.printf("Depth %d: frontier %d, expanded %d in %.3f ms (%.0f/s), duplicates %.1f%%, visited ~%d KB%n",
+                layer.depth(), layer.frontierSize(), layer.expanded(), layer.nanos() / 1e6, layer.expansionRate(),
+                100 * layer.duplicateRatio(), layer.visitedBytes() / 1024);
     }
 }
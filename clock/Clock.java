@@ -1,33 +1,36 @@
 package puzzles.clock;
 
-import puzzles.common.solver.Configuration;
-import puzzles.common.solver.Solver;
-
-import java.util.Collection;
+import puzzles.common.solver.SolveEvent;
+import puzzles.common.solver.StreamingSolver;
 
 public class Clock {
     public static void main(String[] args) {
-        if (args.length < 2) {
-            System.out.println(("Usage: java Clock hours stop end"));
+        if (args.length < 3) {
+            System.out.println(("Usage: java Clock hours stop end [--search]"));
         } else {
             System.out.println("Hours: " + args[0] + ", Start: " + args[1] + ", End: " + args[2]);
 
-            ClockConfig start = new ClockConfig(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
-                    Integer.parseInt(args[2]));
+            ClockConfig start;
+            try {
+                start = new ClockConfig(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                        Integer.parseInt(args[2]));
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+                return;
+            }
 
-            Solver solver = new Solver();
+            // the path can be worked out directly, --search finds it with a search over the hours instead
+            boolean search = args.length > 3 && args[3].equals("--search");
+            StreamingSolver solver = new StreamingSolver(() -> new ClockSolver(!search));
 
-            Collection<Configuration> solutions =  solver.solve(start);
-            // solve will print the configs
-            int i = 0;
-            if (solutions.size() != 0) {
-                for(Configuration config : solutions){
-                    System.out.println("Step " + i + ": " + config.toString());
-                    i++;
+            // print each step as the search hands it over
+            solver.consume(start, event -> {
+                if (event instanceof SolveEvent.Finished finished && !finished.stats().solved()) {
+                    System.out.println("No solution");
+                } else if (event instanceof SolveEvent.Step step) {
+                    System.out.println("Step " + step.index() + ": " + step.config());
                 }
-            } else {
-                System.out.println("No solution");
-            }
+            }).join();
 
         }
     }
@@ -0,0 +1,31 @@
+package puzzles.clock;
+
+import puzzles.common.solver.StateCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes clocks as three ints: the number of hours, the hour the hand is on and the end hour.
+ * @author Aneesh Bukya
+ */
+public class ClockCodec implements StateCodec<ClockConfig> {
+    @Override
+    public int size(ClockConfig config) {
+        return 3 * Integer.BYTES;
+    }
+
+    @Override
+    public void encode(ClockConfig config, ByteBuffer buffer) {
+        buffer.putInt(config.getHours());
+        buffer.putInt(config.getHour());
+        buffer.putInt(config.getEnd());
+    }
+
+    @Override
+    public ClockConfig decode(ByteBuffer buffer) {
+        int hours = buffer.getInt();
+        int hour = buffer.getInt();
+        int end = buffer.getInt();
+        return new ClockConfig(hours, hour, end);
+    }
+}
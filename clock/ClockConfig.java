@@ -1,21 +1,96 @@
 package puzzles.clock;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.GoalConfiguration;
+import puzzles.common.solver.HeuristicConfiguration;
+import puzzles.common.solver.LayeredConfiguration;
+import puzzles.common.solver.PackedConfiguration;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.LongConsumer;
 
-public class ClockConfig implements Configuration {
-    static int hours;
-    private int start;
-    static int end;
+public class ClockConfig implements GoalConfiguration, PackedConfiguration, HeuristicConfiguration, LayeredConfiguration {
+    /** the number of hours on the clock */
+    private final int hours;
+    private final int start;
+    private final int end;
 
+    /**
+     * creates a clock puzzle
+     * @param hours - the number of hours on the clock
+     * @param start - the hour the hand starts on
+     * @param end - the hour the hand has to reach
+     * @throws IllegalArgumentException - if there are no hours or an hour is not on the clock
+     */
     public ClockConfig(int hours, int start, int end){
+        if (hours < 1) {
+            throw new IllegalArgumentException("A clock needs at least one hour, not " + hours);
+        }
+        if (start < 1 || start > hours || end < 1 || end > hours) {
+            throw new IllegalArgumentException("Hours must be between 1 and " + hours);
+        }
         this.hours = hours;
         this.start = start;
         this.end = end;
     }
 
+    /**
+     * creates a config of the same puzzle with the hand on another hour, skipping the checks
+     * @param other - a config of the puzzle
+     * @param hour - the hour the hand is on, already known to be on the clock
+     */
+    private ClockConfig(ClockConfig other, int hour) {
+        this.hours = other.hours;
+        this.start = hour;
+        this.end = other.end;
+    }
+
+    /**
+     * the number of hours on the clock
+     * @return the hours
+     */
+    public int getHours() {
+        return this.hours;
+    }
+
+    /**
+     * the hour the hand is on
+     * @return the hour
+     */
+    public int getHour() {
+        return this.start;
+    }
+
+    /**
+     * the hour the hand has to reach
+     * @return the hour
+     */
+    public int getEnd() {
+        return this.end;
+    }
+
+    /**
+     * the number of moves from one hour to another, going the shorter way around the clock
+     * @param hours - the number of hours on the clock
+     * @param from - the hour the hand is on
+     * @param to - the hour the hand has to reach
+     * @return the moves
+     */
+    public static int distance(int hours, int from, int to) {
+        int turns = Math.abs(from - to);
+        return Math.min(turns, hours - turns);
+    }
+
+    /**
+     * every turn of the hand can be turned back
+     * @return 2
+     */
+    @Override
+    public int revisitedLayers() {
+        return 2;
+    }
+
     @Override
     public boolean isSolution() {
         return this.start == end;
@@ -23,25 +98,63 @@ public class ClockConfig implements Configuration {
 
     @Override
     public Collection<Configuration> getNeighbors() {
-        ArrayList<Configuration> configs = new ArrayList<>();
-        if (this.start - 1 == 0) {
-            configs.add(new ClockConfig(hours, hours, end));
-        } else {
-            configs.add(new ClockConfig(hours, start - 1, end));
-        }
-        if (this.start + 1 > hours) {
-            configs.add(new ClockConfig(hours, 1, end));
-        } else {
-            configs.add(new ClockConfig(hours, start + 1, end));
-        }
+        ArrayList<Configuration> configs = new ArrayList<>(2);
+        configs.add(new ClockConfig(this, this.start - 1 == 0 ? hours : start - 1));
+        configs.add(new ClockConfig(this, this.start + 1 > hours ? 1 : start + 1));
         return configs;
     }
 
+    /**
+     * the turns left to the end hour going the shorter way around the clock, which is exact
+     * @return the estimate
+     */
+    @Override
+    public int estimate() {
+        return distance(this.hours, this.start, this.end);
+    }
+
+    @Override
+    public Configuration getGoal() {
+        return new ClockConfig(this, end);
+    }
+
+    @Override
+    public Collection<Configuration> getPredecessors() {
+        // turning the hand back is itself a move, so the moves are their own reverse
+        return getNeighbors();
+    }
+
+    @Override
+    public boolean isPackable() {
+        return true;
+    }
+
+    @Override
+    public long pack() {
+        return this.start;
+    }
+
+    @Override
+    public Configuration unpack(long state) {
+        return new ClockConfig(this, (int) state);
+    }
+
+    @Override
+    public boolean isSolution(long state) {
+        return state == end;
+    }
+
+    @Override
+    public void forEachNeighbor(long state, LongConsumer action) {
+        action.accept(state - 1 == 0 ? hours : state - 1);
+        action.accept(state + 1 > hours ? 1 : state + 1);
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other instanceof ClockConfig) {
             ClockConfig o = (ClockConfig) other;
-            return o.start == this.start;
+            return o.start == this.start && o.hours == this.hours && o.end == this.end;
         }
         return false;
     }
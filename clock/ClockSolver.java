@@ -0,0 +1,130 @@
+package puzzles.clock;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SearchStrategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A solver made for the clock puzzle. The hand can only ever be on one of the clock's hours, so
+ * instead of hashing configs it searches over the hours themselves, with an array indexed by hour
+ * as the visited table. In direct mode it does not search at all: the shortest way is simply the
+ * shorter way around the clock, and the path is walked out in that direction.
+ * A solver keeps nothing between solves except its counters, so one per thread can be used to
+ * solve clocks of any size at the same time.
+ * @author Aneesh Bukya
+ */
+public class ClockSolver implements SearchStrategy {
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+    /** true to work out the path rather than search for it */
+    private final boolean direct;
+
+    /**
+     * creates a solver that works out the path directly
+     */
+    public ClockSolver() {
+        this(true);
+    }
+
+    /**
+     * creates a solver
+     * @param direct - true to work out the path directly, false to search with the visited table
+     */
+    public ClockSolver(boolean direct) {
+        this.direct = direct;
+    }
+
+    /**
+     * gets the shortest path from the start config to the end hour
+     * @param startConfig - start config, a ClockConfig
+     * @return a list with the shortest path
+     * @throws IllegalArgumentException - if the start config is not a clock
+     */
+    @Override
+    public Collection<Configuration> solve(Configuration startConfig) {
+        if (!(startConfig instanceof ClockConfig)) {
+            throw new IllegalArgumentException("ClockSolver only solves clocks, not " + startConfig);
+        }
+        ClockConfig clock = (ClockConfig) startConfig;
+        return this.direct ? walk(clock) : search(clock);
+    }
+
+    /**
+     * walks the shorter way around the clock, counterclockwise when both ways are as short, which
+     * is the way the search would find
+     * @param clock - start config
+     * @return the path
+     */
+    private List<Configuration> walk(ClockConfig clock) {
+        int hours = clock.getHours();
+        int hour = clock.getHour();
+        int moves = ClockConfig.distance(hours, hour, clock.getEnd());
+        int counterclockwise = ((hour - clock.getEnd()) % hours + hours) % hours;
+        int step = counterclockwise == moves ? -1 : 1;
+        List<Configuration> path = new ArrayList<>(moves + 1);
+        path.add(clock);
+        for (int i = 0; i < moves; i++) {
+            hour = Math.floorMod(hour - 1 + step, hours) + 1;
+            path.add(clock.unpack(hour));
+        }
+        this.totalConfigs = path.size();
+        this.uniqueConfigs = path.size();
+        return path;
+    }
+
+    /**
+     * a breadth first search over the hours
+     * @param clock - start config
+     * @return the shortest path
+     */
+    private List<Configuration> search(ClockConfig clock) {
+        int hours = clock.getHours();
+        int end = clock.getEnd();
+        // the hour each hour was first reached from, 0 for hours not reached yet
+        int[] from = new int[hours + 1];
+        int[] queue = new int[hours];
+        int head = 0;
+        int tail = 0;
+        from[clock.getHour()] = clock.getHour();
+        queue[tail++] = clock.getHour();
+        this.totalConfigs = 1;
+        while (from[end] == 0) {
+            int hour = queue[head++];
+            int down = hour - 1 == 0 ? hours : hour - 1;
+            int up = hour + 1 > hours ? 1 : hour + 1;
+            totalConfigs += 2;
+            if (from[down] == 0) {
+                from[down] = hour;
+                queue[tail++] = down;
+            }
+            if (from[up] == 0) {
+                from[up] = hour;
+                queue[tail++] = up;
+            }
+        }
+        this.uniqueConfigs = tail;
+
+        List<Configuration> path = new ArrayList<>();
+        int hour = end;
+        path.add(clock.unpack(hour));
+        while (hour != clock.getHour()) {
+            hour = from[hour];
+            path.add(clock.unpack(hour));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    @Override
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+    @Override
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+}
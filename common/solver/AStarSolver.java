@@ -0,0 +1,121 @@
+package puzzles.common.solver;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A solver that uses the A* algorithm. Configs are expanded in order of the moves taken to reach
+ * them plus the estimate of the moves still needed, so with a good {@link HeuristicConfiguration}
+ * the search heads almost straight for the solution. As long as the estimate never overshoots,
+ * the path found is a shortest one. Configs without an estimate are treated as estimating 0,
+ * which makes this an ordinary breadth first search. Configs estimated as
+ * {@link HeuristicConfiguration#UNREACHABLE} are never queued.
+ * @author Aneesh Bukya
+ */
+public class AStarSolver implements SearchStrategy {
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+
+    /**
+     * A config waiting to be expanded.
+     * @param config - the config
+     * @param moves - the moves taken to reach it
+     * @param cost - the moves taken plus the estimate of the moves left
+     * @param order - when it was added, so that ties are broken first in, first out
+     */
+    private record Node(Configuration config, int moves, int cost, long order) {}
+
+    /** expand the cheapest first; among equals the deepest, which is closest to a solution; then the oldest */
+    private static final Comparator<Node> CHEAPEST_FIRST = Comparator.comparingInt(Node::cost)
+            .thenComparing(Comparator.comparingInt(Node::moves).reversed())
+            .thenComparingLong(Node::order);
+
+    /**
+     * the estimated number of moves from a config to a solution
+     * @param config - the config
+     * @return the estimate, 0 if the config can not estimate
+     */
+    static int estimate(Configuration config) {
+        return config instanceof HeuristicConfiguration ? ((HeuristicConfiguration) config).estimate() : 0;
+    }
+
+    /**
+     * a method that uses A* to get the shortest path from start config to end config
+     * @param startConfig - start config
+     * @return a list with the shortest path, empty if there is none
+     * @throws CancellationException - if the thread was interrupted during the search
+     */
+    @Override
+    public Collection<Configuration> solve(Configuration startConfig) {
+        PriorityQueue<Node> open = new PriorityQueue<>(CHEAPEST_FIRST);
+        Map<Configuration, Integer> bestMoves = new HashMap<>();
+        Map<Configuration, Configuration> predecessors = new HashMap<>();
+        long added = 0;
+
+        bestMoves.put(startConfig, 0);
+        predecessors.put(startConfig, startConfig);
+        this.totalConfigs = 1;
+        if (estimate(startConfig) != HeuristicConfiguration.UNREACHABLE) {
+            open.add(new Node(startConfig, 0, estimate(startConfig), added++));
+        }
+
+        while (!open.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Solve interrupted");
+            }
+            Node node = open.remove();
+            if (node.moves() > bestMoves.get(node.config())) {
+                // a shorter way to this config was found after this node was queued
+                continue;
+            }
+            if (node.config().isSolution()) {
+                this.uniqueConfigs = bestMoves.size();
+                return constructPath(predecessors, node.config());
+            }
+            int moves = node.moves() + 1;
+            for (Iterator<Configuration> nbrs = node.config().neighbors(); nbrs.hasNext(); ) {
+                Configuration nbr = nbrs.next();
+                totalConfigs++;
+                Integer known = bestMoves.get(nbr);
+                int estimate = estimate(nbr);
+                if ((known == null || moves < known) && estimate != HeuristicConfiguration.UNREACHABLE) {
+                    bestMoves.put(nbr, moves);
+                    predecessors.put(nbr, node.config());
+                    open.add(new Node(nbr, moves, moves + estimate, added++));
+                }
+            }
+        }
+        this.uniqueConfigs = bestMoves.size();
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+    @Override
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+
+    /**
+     * Method to return a path from the starting to finishing config.
+     *
+     * @param predecessors Map used to reconstruct the path
+     * @param goal the solution config that was found
+     * @return a list containing the sequence of config comprising the path.
+     */
+    private List<Configuration> constructPath(Map<Configuration, Configuration> predecessors, Configuration goal) {
+        List<Configuration> path = new ArrayList<>();
+        Configuration current = goal;
+        Configuration previous = predecessors.get(current);
+        path.add(current);
+        while (!previous.equals(current)) {
+            current = previous;
+            path.add(current);
+            previous = predecessors.get(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
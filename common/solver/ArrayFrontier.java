@@ -0,0 +1,81 @@
+package puzzles.common.solver;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A FIFO frontier backed by a growable ring buffer. Unlike a linked list, adding an element
+ * does not allocate a node, so the only allocations are the occasional doubling of the array.
+ * @param <E> the type of element stored in the frontier
+ * @author Aneesh Bukya
+ */
+public class ArrayFrontier<E> implements Frontier<E> {
+    /** the capacity used when none is given */
+    private static final int DEFAULT_CAPACITY = 16;
+    /** the ring buffer, its length is always a power of two */
+    private Object[] elements;
+    /** index of the front element */
+    private int head;
+    /** number of elements stored */
+    private int size;
+
+    /**
+     * creates an empty frontier with the default capacity
+     */
+    public ArrayFrontier() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * creates an empty frontier that can hold at least the given number of elements before growing
+     * @param capacity - the initial capacity
+     */
+    public ArrayFrontier(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.elements = new Object[length];
+    }
+
+    @Override
+    public void add(E element) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = element;
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        E element = (E) elements[head];
+        // drop the reference so expanded configs can be collected
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return element;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * doubles the buffer, unwrapping the elements so the front is at index 0 again
+     */
+    private void grow() {
+        Object[] bigger = new Object[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, bigger, 0, firstPart);
+        System.arraycopy(elements, 0, bigger, firstPart, head);
+        elements = bigger;
+        head = 0;
+    }
+}
@@ -0,0 +1,130 @@
+package puzzles.common.solver;
+
+import java.util.*;
+
+/**
+ * A solver that runs two breadth first searches at once, one forward from the start config and
+ * one backward from the goal config, and stops as soon as they meet. Each search only has to go
+ * about half the depth, so far fewer configs are visited than with a single BFS.
+ * Configs that are not a {@link GoalConfiguration} are handed to a plain {@link Solver}.
+ * @author Aneesh Bukya
+ */
+public class BidirectionalSolver implements SearchStrategy {
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+
+    /**
+     * a method that searches from both ends to get the shortest path from start config to end config
+     * @param startConfig - start config
+     * @return a list with the shortest path, empty if there is none
+     */
+    public Collection<Configuration> solve(Configuration startConfig) {
+        if (!(startConfig instanceof GoalConfiguration)) {
+            Solver solver = new Solver();
+            Collection<Configuration> path = solver.solve(startConfig);
+            this.totalConfigs = solver.getTotalConfigs();
+            this.uniqueConfigs = solver.getUniqueConfigs();
+            return path;
+        }
+        Configuration goalConfig = ((GoalConfiguration) startConfig).getGoal();
+        // for each config found from the start, the config it was reached from
+        Map<Configuration, Configuration> predecessors = new HashMap<>();
+        // for each config found from the goal, the config it leads to
+        Map<Configuration, Configuration> successors = new HashMap<>();
+        Frontier<Configuration> forward = new ArrayFrontier<>();
+        Frontier<Configuration> backward = new ArrayFrontier<>();
+
+        predecessors.put(startConfig, startConfig);
+        successors.put(goalConfig, goalConfig);
+        forward.add(startConfig);
+        backward.add(goalConfig);
+        this.totalConfigs = 1;
+
+        Configuration meeting = startConfig.equals(goalConfig) ? startConfig : null;
+        while (meeting == null && !forward.isEmpty() && !backward.isEmpty()) {
+            // grow whichever side has the smaller layer
+            if (forward.size() <= backward.size()) {
+                meeting = expandLayer(forward, predecessors, successors, false);
+            } else {
+                meeting = expandLayer(backward, successors, predecessors, true);
+            }
+        }
+        // the sides only share the config they meet at, which is counted once
+        this.uniqueConfigs = predecessors.size() + successors.size() - (meeting == null ? 0 : 1);
+        if (meeting == null) {
+            return new ArrayList<>();
+        }
+        return constructPath(predecessors, successors, meeting);
+    }
+
+    /**
+     * expands every config in the current layer of one side of the search
+     * @param frontier - the side's frontier, holding exactly one layer
+     * @param links - the side's map from each config to the one it was reached from
+     * @param otherLinks - the other side's map, used to detect the meeting point
+     * @param reverse - true to follow moves backwards (the goal side)
+     * @return the config both sides have reached, or null if they have not met yet
+     */
+    private Configuration expandLayer(Frontier<Configuration> frontier, Map<Configuration, Configuration> links,
+                                      Map<Configuration, Configuration> otherLinks, boolean reverse) {
+        for (int layer = frontier.size(); layer > 0; layer--) {
+            Configuration current = frontier.remove();
+            Iterator<Configuration> nbrs = reverse
+                    ? ((GoalConfiguration) current).getPredecessors().iterator()
+                    : current.neighbors();
+            while (nbrs.hasNext()) {
+                Configuration nbr = nbrs.next();
+                totalConfigs++;
+                if (!links.containsKey(nbr)) {
+                    links.put(nbr, current);
+                    if (otherLinks.containsKey(nbr)) {
+                        return nbr;
+                    }
+                    frontier.add(nbr);
+                }
+            }
+        }
+        return null;
+    }
+
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+
+    /**
+     * Method to return a path from the starting to finishing config through the config where the
+     * two searches met.
+     *
+     * @param predecessors links from the start side
+     * @param successors links from the goal side
+     * @param meeting the config both sides reached
+     * @return a list containing the sequence of config comprising the path.
+     */
+    private List<Configuration> constructPath(Map<Configuration, Configuration> predecessors,
+                                              Map<Configuration, Configuration> successors,
+                                              Configuration meeting) {
+        List<Configuration> path = new ArrayList<>();
+        // walk back to the start, then flip that half around
+        Configuration current = meeting;
+        Configuration previous = predecessors.get(current);
+        path.add(current);
+        while (!previous.equals(current)) {
+            current = previous;
+            path.add(current);
+            previous = predecessors.get(current);
+        }
+        Collections.reverse(path);
+        // then walk forward to the goal
+        current = meeting;
+        Configuration next = successors.get(current);
+        while (!next.equals(current)) {
+            current = next;
+            path.add(current);
+            next = successors.get(current);
+        }
+        return path;
+    }
+}
@@ -1,6 +1,7 @@
 package puzzles.common.solver;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 public interface Configuration {
     boolean isSolution();
@@ -8,4 +9,14 @@ public interface Configuration {
     boolean equals(Object other);
     int hashCode();
     String toString();
+
+    /**
+     * Produces the neighbors one at a time. A search that stops early, or throws most of them
+     * away, then only pays for the ones it looks at. Configurations that can generate their
+     * moves lazily should override this; by default it walks {@link #getNeighbors()}.
+     * @return an iterator over the neighbor configs
+     */
+    default Iterator<Configuration> neighbors() {
+        return getNeighbors().iterator();
+    }
 }
@@ -0,0 +1,106 @@
+package puzzles.common.solver;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A solver that searches depth first, backtracking out of configs that lead nowhere. It only keeps
+ * the current path in memory, so it needs far less than a breadth first search, but the solution
+ * it finds is only guaranteed to be a shortest one for puzzles where every solution has the same
+ * length, such as the chess puzzle where every move captures a piece.
+ * Optionally it can remember every config it has backtracked out of, so that other paths into the
+ * same dead end are cut off straight away.
+ * @author Aneesh Bukya
+ */
+public class DepthFirstSolver implements SearchStrategy {
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+    /** true to remember dead ends */
+    private final boolean pruneDeadEnds;
+
+    /**
+     * creates a solver that does not remember dead ends, and so uses memory proportional to the depth only
+     */
+    public DepthFirstSolver() {
+        this(false);
+    }
+
+    /**
+     * creates a solver
+     * @param pruneDeadEnds - true to remember configs with no solution, trading memory for time
+     */
+    public DepthFirstSolver(boolean pruneDeadEnds) {
+        this.pruneDeadEnds = pruneDeadEnds;
+    }
+
+    /**
+     * a method that uses DFS to find a path from start config to end config.
+     * Configs already on the current path are skipped, so puzzles whose moves can be undone do not loop.
+     * @param startConfig - start config
+     * @return a list with the path, empty if there is none
+     * @throws CancellationException - if the thread was interrupted during the search
+     */
+    @Override
+    public Collection<Configuration> solve(Configuration startConfig) {
+        List<Configuration> path = new ArrayList<>();
+        // the unexplored neighbors of every config on the path, in the same order
+        Deque<Iterator<Configuration>> stack = new ArrayDeque<>();
+        Set<Configuration> onPath = new HashSet<>();
+        Set<Configuration> deadEnds = new HashSet<>();
+        this.totalConfigs = 1;
+        this.uniqueConfigs = 1;
+
+        path.add(startConfig);
+        onPath.add(startConfig);
+        stack.push(startConfig.neighbors());
+        boolean found = startConfig.isSolution();
+        while (!found && !stack.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Solve interrupted at depth " + stack.size());
+            }
+            Iterator<Configuration> nbrs = stack.peek();
+            if (!nbrs.hasNext()) {
+                // every move from here has been tried, so back up
+                stack.pop();
+                Configuration deadEnd = path.remove(path.size() - 1);
+                onPath.remove(deadEnd);
+                if (pruneDeadEnds) {
+                    deadEnds.add(deadEnd);
+                }
+                continue;
+            }
+            Configuration nbr = nbrs.next();
+            totalConfigs++;
+            if (onPath.contains(nbr) || deadEnds.contains(nbr)) {
+                continue;
+            }
+            uniqueConfigs++;
+            path.add(nbr);
+            if (nbr.isSolution()) {
+                found = true;
+            } else {
+                onPath.add(nbr);
+                stack.push(nbr.neighbors());
+            }
+        }
+        if (!found) {
+            return new ArrayList<>();
+        }
+        return path;
+    }
+
+    @Override
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+
+    /**
+     * the number of configs stepped into by the last search. Without dead end pruning the same
+     * config can be stepped into along several paths, and is counted each time.
+     * @return the count
+     */
+    @Override
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+}
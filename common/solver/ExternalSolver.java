@@ -0,0 +1,819 @@
+package puzzles.common.solver;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.LongConsumer;
+
+/**
+ * A breadth first search solver that keeps its layers on disk instead of in memory, for puzzles
+ * with more states than fit in the heap.
+ * Each layer is a file of states in sorted order. A {@link PackedConfiguration} that fits in a
+ * long is stored as that long; any other config is stored as its bytes from a {@link StateCodec},
+ * so the solver has to be given one for the puzzles that need it.
+ * A layer is expanded by reading its file once; the neighbors are collected in a fixed size
+ * buffer, which is sorted and written out as a run whenever it fills up. The runs are then
+ * merged, dropping repeats and every state already in an earlier layer, to give the file of the
+ * next layer. Duplicates are therefore only detected once a whole layer has been generated,
+ * rather than as each neighbor is made. A {@link LayeredConfiguration} says how many earlier
+ * layers a neighbor can be in, and only those are checked; otherwise every earlier layer is.
+ * No parent links are kept: the path is rebuilt from the solution backwards by scanning each
+ * earlier layer for a state that has the current one as a neighbor.
+ * Memory use is the buffer plus one small read buffer per open file.
+ * @author Aneesh Bukya
+ */
+public class ExternalSolver implements SearchStrategy {
+    /** the default number of states collected before a run is written, 8 MB of longs */
+    public static final int DEFAULT_BUFFER_STATES = 1 << 20;
+    /** the most files merged at once */
+    private static final int MERGE_WAYS = 64;
+    /** the size of the buffers used to read and write the files */
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+    /** the directory the files of each search are made in, null for the system's temporary directory */
+    private final Path directory;
+    /** the number of states collected before a run is written */
+    private final int bufferStates;
+    /** turns configs that do not pack into a long into bytes, null if there is none */
+    private final StateCodec<? extends Configuration> codec;
+
+    /**
+     * creates a solver for packed configs that keeps its files in the system's temporary directory
+     */
+    public ExternalSolver() {
+        this(null);
+    }
+
+    /**
+     * creates a solver that keeps its files in the system's temporary directory
+     * @param codec - encodes the configs that do not pack into a long, null if there is none
+     */
+    public ExternalSolver(StateCodec<? extends Configuration> codec) {
+        this(null, DEFAULT_BUFFER_STATES, codec);
+    }
+
+    /**
+     * creates a solver for packed configs
+     * @param directory - where to keep the files of each search, null for the system's temporary directory
+     * @param bufferStates - the number of states collected in memory before a run is written
+     */
+    public ExternalSolver(Path directory, int bufferStates) {
+        this(directory, bufferStates, null);
+    }
+
+    /**
+     * creates a solver
+     * @param directory - where to keep the files of each search, null for the system's temporary directory
+     * @param bufferStates - the number of states collected in memory before a run is written
+     * @param codec - encodes the configs that do not pack into a long, null if there is none
+     */
+    public ExternalSolver(Path directory, int bufferStates, StateCodec<? extends Configuration> codec) {
+        if (bufferStates < 1) {
+            throw new IllegalArgumentException("The buffer must hold at least one state, not " + bufferStates);
+        }
+        this.directory = directory;
+        this.bufferStates = bufferStates;
+        this.codec = codec;
+    }
+
+    /**
+     * Reads a file of sorted states one at a time.
+     */
+    private static abstract class StateReader implements Closeable {
+        protected final DataInputStream in;
+
+        /**
+         * opens a file
+         * @param file - the file
+         * @throws IOException - if it can not be opened
+         */
+        StateReader(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_BYTES));
+        }
+
+        /**
+         * tells us if the last read reached the end of the file
+         * @return true if there is no current state
+         */
+        abstract boolean done();
+
+        /**
+         * reads the next state
+         * @throws IOException - if it can not be read
+         */
+        abstract void advance() throws IOException;
+
+        /**
+         * compares the current states of two readers of the same kind of file
+         * @param other - the other reader
+         * @return less than, equal to or more than 0 as this state sorts before, with or after the other
+         */
+        abstract int compareTo(StateReader other);
+
+        /**
+         * writes the current state
+         * @param out - the file being written
+         * @throws IOException - if it can not be written
+         */
+        abstract void write(DataOutputStream out) throws IOException;
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads a file of packed states, each a long.
+     */
+    private static class LongReader extends StateReader {
+        /** the states not read yet */
+        private long remaining;
+        /** the state last read */
+        private long current;
+
+        /**
+         * opens a file and reads its first state, if any
+         * @param file - the file
+         * @throws IOException - if it can not be read
+         */
+        LongReader(Path file) throws IOException {
+            super(file);
+            this.remaining = Files.size(file) / Long.BYTES + 1;
+            advance();
+        }
+
+        @Override
+        boolean done() {
+            return remaining == 0;
+        }
+
+        @Override
+        void advance() throws IOException {
+            if (--remaining > 0) {
+                current = in.readLong();
+            }
+        }
+
+        @Override
+        int compareTo(StateReader other) {
+            return Long.compare(current, ((LongReader) other).current);
+        }
+
+        @Override
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(current);
+        }
+    }
+
+    /**
+     * Reads a file of encoded states, each an int length followed by that many bytes.
+     */
+    private static class BytesReader extends StateReader {
+        /** the bytes not read yet */
+        private long remaining;
+        /** the state last read, null at the end of the file */
+        private byte[] current;
+
+        /**
+         * opens a file and reads its first state, if any
+         * @param file - the file
+         * @throws IOException - if it can not be read
+         */
+        BytesReader(Path file) throws IOException {
+            super(file);
+            this.remaining = Files.size(file);
+            advance();
+        }
+
+        @Override
+        boolean done() {
+            return current == null;
+        }
+
+        @Override
+        void advance() throws IOException {
+            if (remaining == 0) {
+                current = null;
+                return;
+            }
+            current = new byte[in.readInt()];
+            in.readFully(current);
+            remaining -= Integer.BYTES + current.length;
+        }
+
+        @Override
+        int compareTo(StateReader other) {
+            return Arrays.compare(current, ((BytesReader) other).current);
+        }
+
+        @Override
+        void write(DataOutputStream out) throws IOException {
+            writeBytes(out, current);
+        }
+    }
+
+    /**
+     * opens a file for writing states
+     * @param file - the file
+     * @return the stream
+     * @throws IOException - if it can not be created
+     */
+    private static DataOutputStream writer(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_BYTES));
+    }
+
+    /**
+     * writes one encoded state
+     * @param out - the file being written
+     * @param state - the state's bytes
+     * @throws IOException - if it can not be written
+     */
+    private static void writeBytes(DataOutputStream out, byte[] state) throws IOException {
+        out.writeInt(state.length);
+        out.write(state);
+    }
+
+    /**
+     * The state of one search: the layers found so far and the merging of each new one. The
+     * subclasses decide how states are stored, expanded and turned back into configs.
+     */
+    private abstract class Search {
+        /** the directory holding this search's files */
+        private final Path workDirectory;
+        /** how many of the latest layers a neighbor can be in, or every layer if negative */
+        private final int revisited;
+        /** the file of each layer found so far, by depth */
+        protected final List<Path> layers = new ArrayList<>();
+        /** the number of intermediate files made, used to name them */
+        private int files;
+        /** the number of states in the file last made by a union or subtraction */
+        private int written;
+        /** the runs of the layer being generated */
+        protected final List<Path> runs = new ArrayList<>();
+        /** the number of neighbors generated */
+        protected int generated;
+        /** the number of distinct states in the layers */
+        protected int seen;
+        /** true once a solution has been generated */
+        protected boolean found;
+        /** the depth of the solution */
+        protected int goalDepth;
+
+        /**
+         * starts a search
+         * @param start - the start config
+         * @param workDirectory - an empty directory for the search's files
+         */
+        Search(Configuration start, Path workDirectory) {
+            this.workDirectory = workDirectory;
+            this.revisited = start instanceof LayeredConfiguration
+                    ? ((LayeredConfiguration) start).revisitedLayers() : -1;
+        }
+
+        /**
+         * writes the start state as the first layer
+         * @param file - the layer's file
+         * @return true if the start is a solution
+         * @throws IOException - if the file can not be written
+         */
+        abstract boolean writeStart(Path file) throws IOException;
+
+        /**
+         * opens a file of this search's states
+         * @param file - the file
+         * @return the reader, positioned at the first state
+         * @throws IOException - if the file can not be read
+         */
+        abstract StateReader open(Path file) throws IOException;
+
+        /**
+         * generates the neighbors of every state of a layer into sorted runs, stopping if a solution is found
+         * @param layer - the layer's file
+         * @throws IOException - if a file can not be read or written
+         */
+        abstract void expand(Path layer) throws IOException;
+
+        /**
+         * rebuilds the path from the start to the solution
+         * @return the path
+         * @throws IOException - if a layer can not be read
+         */
+        abstract List<Configuration> path() throws IOException;
+
+        /**
+         * runs the search until a solution is found or a layer turns out to be empty
+         * @throws IOException - if a file can not be read or written
+         */
+        void run() throws IOException {
+            Path first = workDirectory.resolve("layer-0");
+            layers.add(first);
+            seen = 1;
+            if (writeStart(first)) {
+                found = true;
+                return;
+            }
+            int count = 1;
+            while (count > 0 && !found) {
+                expand(layers.get(layers.size() - 1));
+                if (!found) {
+                    count = merge();
+                    seen += count;
+                }
+            }
+        }
+
+        /**
+         * throws if the thread running the search has been interrupted
+         * @throws CancellationException - if it has
+         */
+        protected void checkInterrupted() {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Solve interrupted at depth " + (layers.size() - 1));
+            }
+        }
+
+        /**
+         * merges the runs into the next layer, leaving out repeats and states of the earlier
+         * layers they could be in. At most MERGE_WAYS files are read at once, so runs are
+         * merged in rounds if there are more, and the earlier layers are taken away one at a time.
+         * @return the number of states in the new layer
+         * @throws IOException - if a file can not be read or written
+         */
+        private int merge() throws IOException {
+            List<Path> pending = new ArrayList<>(runs);
+            runs.clear();
+            while (pending.size() > MERGE_WAYS) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < pending.size(); i += MERGE_WAYS) {
+                    List<Path> group = pending.subList(i, Math.min(i + MERGE_WAYS, pending.size()));
+                    merged.add(group.size() == 1 ? group.get(0) : union(group));
+                }
+                pending = merged;
+            }
+            Path next = union(pending);
+            int from = revisited < 0 ? 0 : Math.max(0, layers.size() - revisited);
+            for (Path layer : layers.subList(from, layers.size())) {
+                Path smaller = temporaryFile();
+                subtract(next, layer, smaller);
+                Files.delete(next);
+                next = smaller;
+            }
+            Path layer = workDirectory.resolve("layer-" + layers.size());
+            Files.move(next, layer);
+            layers.add(layer);
+            return written;
+        }
+
+        /**
+         * a new name for an intermediate file
+         * @return the path
+         */
+        protected Path temporaryFile() {
+            return workDirectory.resolve("merge-" + files++);
+        }
+
+        /**
+         * merges sorted files into one, writing each state once, and deletes them
+         * @param inputs - the files
+         * @return the merged file
+         * @throws IOException - if a file can not be read or written
+         */
+        private Path union(List<Path> inputs) throws IOException {
+            Path output = temporaryFile();
+            List<StateReader> readers = new ArrayList<>();
+            try (DataOutputStream out = writer(output)) {
+                PriorityQueue<StateReader> pending = new PriorityQueue<>(StateReader::compareTo);
+                for (Path input : inputs) {
+                    StateReader reader = open(input);
+                    readers.add(reader);
+                    if (!reader.done()) {
+                        pending.add(reader);
+                    }
+                }
+                written = 0;
+                while (!pending.isEmpty()) {
+                    StateReader smallest = pending.remove();
+                    smallest.write(out);
+                    written++;
+                    // each file holds a state at most once, so any repeats are at the front of the other files
+                    while (!pending.isEmpty() && pending.peek().compareTo(smallest) == 0) {
+                        next(pending, pending.remove());
+                    }
+                    next(pending, smallest);
+                }
+            } finally {
+                for (StateReader reader : readers) {
+                    reader.close();
+                }
+            }
+            for (Path input : inputs) {
+                Files.delete(input);
+            }
+            return output;
+        }
+
+        /**
+         * moves a reader on to its next state, putting it back in the queue if it has one
+         * @param pending - the readers that still have states, by their current state
+         * @param reader - the reader
+         * @throws IOException - if the file can not be read
+         */
+        private void next(PriorityQueue<StateReader> pending, StateReader reader) throws IOException {
+            reader.advance();
+            if (!reader.done()) {
+                pending.add(reader);
+            }
+        }
+
+        /**
+         * writes the states of one sorted file that are not in another
+         * @param from - the states to keep
+         * @param remove - the states to leave out
+         * @param output - the file to write
+         * @throws IOException - if a file can not be read or written
+         */
+        private void subtract(Path from, Path remove, Path output) throws IOException {
+            try (StateReader keep = open(from);
+                 StateReader drop = open(remove);
+                 DataOutputStream out = writer(output)) {
+                written = 0;
+                while (!keep.done()) {
+                    while (!drop.done() && drop.compareTo(keep) < 0) {
+                        drop.advance();
+                    }
+                    if (drop.done() || drop.compareTo(keep) != 0) {
+                        keep.write(out);
+                        written++;
+                    }
+                    keep.advance();
+                }
+            }
+        }
+    }
+
+    /**
+     * A search over packed states, each a long. It is the callback the neighbors of the state
+     * being expanded are passed to.
+     */
+    private class PackedSearch extends Search implements LongConsumer {
+        /** the puzzle being solved */
+        private final PackedConfiguration puzzle;
+        /** neighbors waiting to be sorted into a run */
+        private final long[] buffer = new long[bufferStates];
+        /** the number of neighbors in the buffer */
+        private int buffered;
+        /** the state being expanded */
+        private long current;
+        /** the solution, if found */
+        private long goal;
+        /** the state the solution was generated from, if it is not the start */
+        private long goalParent;
+
+        /**
+         * starts a search
+         * @param puzzle - the puzzle, which also supplies the start state
+         * @param workDirectory - an empty directory for the search's files
+         */
+        PackedSearch(PackedConfiguration puzzle, Path workDirectory) {
+            super(puzzle, workDirectory);
+            this.puzzle = puzzle;
+        }
+
+        @Override
+        boolean writeStart(Path file) throws IOException {
+            long start = puzzle.pack();
+            try (DataOutputStream out = writer(file)) {
+                out.writeLong(start);
+            }
+            goal = start;
+            return puzzle.isSolution(start);
+        }
+
+        @Override
+        StateReader open(Path file) throws IOException {
+            return new LongReader(file);
+        }
+
+        @Override
+        void expand(Path layer) throws IOException {
+            try (LongReader in = new LongReader(layer)) {
+                while (!in.done() && !found) {
+                    checkInterrupted();
+                    current = in.current;
+                    puzzle.forEachNeighbor(current, this);
+                    in.advance();
+                }
+            }
+            if (buffered > 0 && !found) {
+                writeRun();
+            }
+        }
+
+        /**
+         * handles one neighbor of the state being expanded. A solution can not be in an earlier
+         * layer, as the search would have stopped there, so it is taken as soon as it appears.
+         * @param nbr - the neighbor state
+         */
+        @Override
+        public void accept(long nbr) {
+            if (found) {
+                return;
+            }
+            generated++;
+            if (puzzle.isSolution(nbr)) {
+                found = true;
+                goal = nbr;
+                goalDepth = layers.size();
+                goalParent = current;
+                return;
+            }
+            buffer[buffered++] = nbr;
+            if (buffered == buffer.length) {
+                try {
+                    writeRun();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        /**
+         * sorts the buffer and writes its distinct states out as a run
+         * @throws IOException - if the run can not be written
+         */
+        private void writeRun() throws IOException {
+            Arrays.sort(buffer, 0, buffered);
+            Path run = temporaryFile();
+            try (DataOutputStream out = writer(run)) {
+                for (int i = 0; i < buffered; i++) {
+                    if (i == 0 || buffer[i] != buffer[i - 1]) {
+                        out.writeLong(buffer[i]);
+                    }
+                }
+            }
+            runs.add(run);
+            buffered = 0;
+        }
+
+        @Override
+        List<Configuration> path() throws IOException {
+            List<Configuration> path = new ArrayList<>();
+            path.add(puzzle.unpack(goal));
+            long target = goal;
+            for (int depth = goalDepth - 1; depth >= 0; depth--) {
+                // the solution's own parent is known, the rest have to be looked for
+                target = depth == goalDepth - 1 ? goalParent : parentOf(layers.get(depth), target);
+                path.add(puzzle.unpack(target));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        /**
+         * finds a state in a layer that has the given state as a neighbor
+         * @param layer - the layer's file
+         * @param child - the state
+         * @return the parent
+         * @throws IOException - if the layer can not be read
+         */
+        private long parentOf(Path layer, long child) throws IOException {
+            boolean[] hit = new boolean[1];
+            try (LongReader in = new LongReader(layer)) {
+                while (!in.done()) {
+                    long candidate = in.current;
+                    puzzle.forEachNeighbor(candidate, nbr -> hit[0] |= nbr == child);
+                    if (hit[0]) {
+                        return candidate;
+                    }
+                    in.advance();
+                }
+            }
+            throw new IllegalStateException("No state in " + layer.getFileName() + " leads to the path");
+        }
+    }
+
+    /**
+     * A search over configs stored as their bytes from a codec.
+     */
+    private class CodecSearch extends Search {
+        /** the start config */
+        private final Configuration start;
+        /** turns the configs into bytes and back */
+        private final StateCodec<Configuration> codec;
+        /** neighbors waiting to be sorted into a run */
+        private final byte[][] buffer = new byte[bufferStates][];
+        /** the number of neighbors in the buffer */
+        private int buffered;
+        /** the solution, if found */
+        private Configuration goal;
+        /** the config the solution was generated from, if it is not the start */
+        private Configuration goalParent;
+
+        /**
+         * starts a search
+         * @param start - the start config
+         * @param codec - encodes the puzzle's configs
+         * @param workDirectory - an empty directory for the search's files
+         */
+        @SuppressWarnings("unchecked")
+        CodecSearch(Configuration start, StateCodec<? extends Configuration> codec, Path workDirectory) {
+            super(start, workDirectory);
+            this.start = start;
+            // the codec is for the puzzle's own type, which every one of its configs has
+            this.codec = (StateCodec<Configuration>) codec;
+        }
+
+        /**
+         * encodes a config
+         * @param config - the config
+         * @return its bytes
+         */
+        private byte[] encode(Configuration config) {
+            return codec.encode(config).array();
+        }
+
+        /**
+         * decodes a config
+         * @param state - its bytes
+         * @return the config
+         */
+        private Configuration decode(byte[] state) {
+            return codec.decode(ByteBuffer.wrap(state));
+        }
+
+        @Override
+        boolean writeStart(Path file) throws IOException {
+            try (DataOutputStream out = writer(file)) {
+                writeBytes(out, encode(start));
+            }
+            goal = start;
+            return start.isSolution();
+        }
+
+        @Override
+        StateReader open(Path file) throws IOException {
+            return new BytesReader(file);
+        }
+
+        @Override
+        void expand(Path layer) throws IOException {
+            try (BytesReader in = new BytesReader(layer)) {
+                while (!in.done() && !found) {
+                    checkInterrupted();
+                    Configuration current = decode(in.current);
+                    for (Iterator<Configuration> nbrs = current.neighbors(); nbrs.hasNext() && !found; ) {
+                        accept(current, nbrs.next());
+                    }
+                    in.advance();
+                }
+            }
+            if (buffered > 0 && !found) {
+                writeRun();
+            }
+        }
+
+        /**
+         * handles one neighbor of the config being expanded, taking a solution as soon as it appears
+         * @param current - the config being expanded
+         * @param nbr - the neighbor
+         * @throws IOException - if a run can not be written
+         */
+        private void accept(Configuration current, Configuration nbr) throws IOException {
+            generated++;
+            if (nbr.isSolution()) {
+                found = true;
+                goal = nbr;
+                goalDepth = layers.size();
+                goalParent = current;
+                return;
+            }
+            buffer[buffered++] = encode(nbr);
+            if (buffered == buffer.length) {
+                writeRun();
+            }
+        }
+
+        /**
+         * sorts the buffer and writes its distinct states out as a run
+         * @throws IOException - if the run can not be written
+         */
+        private void writeRun() throws IOException {
+            Arrays.sort(buffer, 0, buffered, Arrays::compare);
+            Path run = temporaryFile();
+            try (DataOutputStream out = writer(run)) {
+                for (int i = 0; i < buffered; i++) {
+                    if (i == 0 || !Arrays.equals(buffer[i], buffer[i - 1])) {
+                        writeBytes(out, buffer[i]);
+                    }
+                }
+            }
+            runs.add(run);
+            Arrays.fill(buffer, 0, buffered, null);
+            buffered = 0;
+        }
+
+        @Override
+        List<Configuration> path() throws IOException {
+            List<Configuration> path = new ArrayList<>();
+            path.add(goal);
+            Configuration target = goal;
+            for (int depth = goalDepth - 1; depth >= 0; depth--) {
+                // the solution's own parent is known, the rest have to be looked for
+                target = depth == goalDepth - 1 ? goalParent : parentOf(layers.get(depth), target);
+                path.add(target);
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        /**
+         * finds a config in a layer that has the given config as a neighbor
+         * @param layer - the layer's file
+         * @param child - the config
+         * @return the parent
+         * @throws IOException - if the layer can not be read
+         */
+        private Configuration parentOf(Path layer, Configuration child) throws IOException {
+            try (BytesReader in = new BytesReader(layer)) {
+                for (; !in.done(); in.advance()) {
+                    Configuration candidate = decode(in.current);
+                    for (Iterator<Configuration> nbrs = candidate.neighbors(); nbrs.hasNext(); ) {
+                        if (nbrs.next().equals(child)) {
+                            return candidate;
+                        }
+                    }
+                }
+            }
+            throw new IllegalStateException("No state in " + layer.getFileName() + " leads to the path");
+        }
+    }
+
+    /**
+     * a method that uses BFS with the layers kept on disk to get the shortest path from start config to end config
+     * @param startConfig - start config
+     * @return a list with the shortest path, empty if there is none
+     * @throws IllegalArgumentException - if the config does not pack into a long and the solver has no codec
+     * @throws UncheckedIOException - if the files can not be written or read
+     * @throws CancellationException - if the thread was interrupted during the search
+     */
+    @Override
+    public Collection<Configuration> solve(Configuration startConfig) {
+        boolean packed = startConfig instanceof PackedConfiguration && ((PackedConfiguration) startConfig).isPackable();
+        if (!packed && codec == null) {
+            throw new IllegalArgumentException("A " + startConfig.getClass().getSimpleName()
+                    + " that does not pack into a long needs a StateCodec to be kept on disk");
+        }
+        Path workDirectory = null;
+        try {
+            workDirectory = directory == null ? Files.createTempDirectory("bfs-")
+                    : Files.createTempDirectory(directory, "bfs-");
+            Search search = packed ? new PackedSearch((PackedConfiguration) startConfig, workDirectory)
+                    : new CodecSearch(startConfig, codec, workDirectory);
+            search.run();
+            this.totalConfigs = search.generated + 1;
+            // the layers written, plus the solution if it was found while generating a layer
+            this.uniqueConfigs = search.seen + (search.goalDepth > 0 ? 1 : 0);
+            if (!search.found) {
+                return new ArrayList<>();
+            }
+            return search.path();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            delete(workDirectory);
+        }
+    }
+
+    /**
+     * deletes a search's directory and everything in it, ignoring files that can not be deleted
+     * @param workDirectory - the directory, null if it was never made
+     */
+    private static void delete(Path workDirectory) {
+        if (workDirectory == null) {
+            return;
+        }
+        try (var files = Files.list(workDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(workDirectory);
+        } catch (IOException e) {
+            // the files are in a temporary directory, so leaving them behind does no harm
+        }
+    }
+
+    @Override
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+    @Override
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+}
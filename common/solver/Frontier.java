@@ -0,0 +1,35 @@
+package puzzles.common.solver;
+
+/**
+ * The collection of configurations that a search has discovered but not yet expanded.
+ * The solver only needs to add to the back and take from the front, so implementations
+ * are free to pick whatever storage suits them best.
+ * @param <E> the type of element stored in the frontier
+ * @author Aneesh Bukya
+ */
+public interface Frontier<E> {
+    /**
+     * adds an element to the back of the frontier
+     * @param element - the element to add
+     */
+    void add(E element);
+
+    /**
+     * removes and returns the element at the front of the frontier
+     * @return the oldest element
+     * @throws java.util.NoSuchElementException - if the frontier is empty
+     */
+    E remove();
+
+    /**
+     * tells us if there is nothing left to expand
+     * @return true or false
+     */
+    boolean isEmpty();
+
+    /**
+     * the number of elements currently waiting in the frontier
+     * @return the size
+     */
+    int size();
+}
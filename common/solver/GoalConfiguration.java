@@ -0,0 +1,23 @@
+package puzzles.common.solver;
+
+import java.util.Collection;
+
+/**
+ * A configuration of a puzzle whose exact goal state is known up front. Searches can use this
+ * to work backwards from the goal as well as forwards from the start.
+ * @author Aneesh Bukya
+ */
+public interface GoalConfiguration extends Configuration {
+    /**
+     * the configuration the puzzle is trying to reach
+     * @return the goal config, for which isSolution() is true
+     */
+    Configuration getGoal();
+
+    /**
+     * the configurations that have this configuration as one of their neighbors,
+     * i.e. the moves of the puzzle taken in reverse
+     * @return a collection of predecessor configs
+     */
+    Collection<Configuration> getPredecessors();
+}
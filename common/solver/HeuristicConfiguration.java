@@ -0,0 +1,19 @@
+package puzzles.common.solver;
+
+/**
+ * A configuration that can estimate how far it is from a solution. Informed searches use the
+ * estimate to expand the most promising configs first.
+ * @author Aneesh Bukya
+ */
+public interface HeuristicConfiguration extends Configuration {
+    /** the estimate of a config that can not reach a solution at all, which searches never expand */
+    int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * A lower bound on the number of moves from this config to a solution. It must never be more
+     * than the true number, or the path found may not be the shortest; it should also drop by at
+     * most one per move.
+     * @return the estimate, 0 for a solution, {@link #UNREACHABLE} if no solution can be reached from here
+     */
+    int estimate();
+}
@@ -0,0 +1,151 @@
+package puzzles.common.solver;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A solver that uses iterative deepening A*. It runs depth first searches that give up on any
+ * config whose moves taken plus estimated moves left exceed a bound, raising the bound to the
+ * smallest value that was cut off each time the search fails. Only the current path is kept, so
+ * memory is proportional to the depth of the solution, at the cost of expanding the shallow
+ * configs again on every round. With an estimate that never overshoots the path is a shortest one.
+ * The search gives up when a round cuts nothing off, or when everything it cut off is estimated
+ * as {@link HeuristicConfiguration#UNREACHABLE}, so puzzles with no solution end as long as their
+ * estimate says so or they have no cycles.
+ * Optionally a transposition table of a fixed number of configs remembers the fewest moves each
+ * was stepped into with this round, and cuts off paths that reach one again in as many moves or
+ * more. It saves expanding the same configs over and over on puzzles with many paths to them,
+ * while memory stays bounded by the table size.
+ * @author Aneesh Bukya
+ */
+public class IDAStarSolver implements SearchStrategy {
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+    /** the most configs in the transposition table, 0 for no table */
+    private final int tableSize;
+
+    /**
+     * creates a solver that keeps only the current path
+     */
+    public IDAStarSolver() {
+        this(0);
+    }
+
+    /**
+     * creates a solver with a transposition table
+     * @param tableSize - the most configs the table remembers, the least recently stepped into
+     *                  are forgotten first; 0 for no table
+     */
+    public IDAStarSolver(int tableSize) {
+        if (tableSize < 0) {
+            throw new IllegalArgumentException("Table size can not be negative: " + tableSize);
+        }
+        this.tableSize = tableSize;
+    }
+
+    /**
+     * a method that uses IDA* to get the shortest path from start config to end config
+     * @param startConfig - start config
+     * @return a list with the shortest path, empty if there is none
+     * @throws CancellationException - if the thread was interrupted during the search
+     */
+    @Override
+    public Collection<Configuration> solve(Configuration startConfig) {
+        this.totalConfigs = 1;
+        this.uniqueConfigs = 1;
+        int bound = AStarSolver.estimate(startConfig);
+        while (bound != HeuristicConfiguration.UNREACHABLE) {
+            List<Configuration> path = new ArrayList<>();
+            int next = search(startConfig, bound, path);
+            if (next < 0) {
+                return path;
+            }
+            // nothing was cut off that could still reach a solution, so there is none
+            bound = next;
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * one bounded depth first search
+     * @param startConfig - start config
+     * @param bound - the most moves taken plus estimated moves left a config may have
+     * @param path - filled with the path if a solution is found
+     * @return -1 if a solution was found, otherwise the smallest cost that was over the bound,
+     * {@link HeuristicConfiguration#UNREACHABLE} if there was none
+     */
+    private int search(Configuration startConfig, int bound, List<Configuration> path) {
+        Deque<Iterator<Configuration>> stack = new ArrayDeque<>();
+        Set<Configuration> onPath = new HashSet<>();
+        Map<Configuration, Integer> table = tableSize == 0 ? null : new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Configuration, Integer> eldest) {
+                return size() > tableSize;
+            }
+        };
+        int smallestOver = HeuristicConfiguration.UNREACHABLE;
+        path.add(startConfig);
+        if (startConfig.isSolution()) {
+            return -1;
+        }
+        onPath.add(startConfig);
+        stack.push(startConfig.neighbors());
+        while (!stack.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Solve interrupted with bound " + bound);
+            }
+            Iterator<Configuration> nbrs = stack.peek();
+            if (!nbrs.hasNext()) {
+                stack.pop();
+                onPath.remove(path.remove(path.size() - 1));
+                continue;
+            }
+            Configuration nbr = nbrs.next();
+            totalConfigs++;
+            if (onPath.contains(nbr)) {
+                continue;
+            }
+            // the path holds the start plus one config per move so far
+            int moves = path.size();
+            int estimate = AStarSolver.estimate(nbr);
+            if (estimate == HeuristicConfiguration.UNREACHABLE) {
+                continue;
+            }
+            if (moves + estimate > bound) {
+                smallestOver = Math.min(smallestOver, moves + estimate);
+                continue;
+            }
+            if (table != null) {
+                Integer known = table.get(nbr);
+                if (known != null && known <= moves) {
+                    // a path at least as short has already searched it with at least as much room
+                    continue;
+                }
+                table.put(nbr, moves);
+            }
+            uniqueConfigs++;
+            path.add(nbr);
+            if (nbr.isSolution()) {
+                return -1;
+            }
+            onPath.add(nbr);
+            stack.push(nbr.neighbors());
+        }
+        return smallestOver;
+    }
+
+    @Override
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+
+    /**
+     * the number of configs stepped into by the last search, counting every time a config is
+     * stepped into again on a later round or along another path
+     * @return the count
+     */
+    @Override
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+}
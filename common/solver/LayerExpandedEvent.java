@@ -0,0 +1,35 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the expansion of one layer by a {@link Solver}. The fields
+ * match {@link LayerStats}.
+ * @author Aneesh Bukya
+ */
+@Name("puzzles.LayerExpanded")
+@Label("Layer Expanded")
+@Category({"Puzzles", "Solver"})
+@Description("Every config at one depth of a breadth first search has been expanded")
+class LayerExpandedEvent extends Event {
+    @Label("Depth")
+    int depth;
+    @Label("Frontier Size")
+    int frontierSize;
+    @Label("Expanded")
+    int expanded;
+    @Label("Generated")
+    int generated;
+    @Label("Duplicates")
+    int duplicates;
+    @Label("Unique Configs")
+    int uniqueConfigs;
+    @Label("Visited Map Estimate")
+    @DataAmount
+    long visitedBytes;
+}
@@ -0,0 +1,46 @@
+package puzzles.common.solver;
+
+/**
+ * What happened while a {@link Solver} expanded every config at one depth.
+ * @param depth - the depth of the configs now waiting to be expanded
+ * @param frontierSize - the number of configs waiting at that depth
+ * @param expanded - the configs expanded in this layer
+ * @param generated - the neighbors generated in this layer
+ * @param duplicates - the generated neighbors that had already been seen
+ * @param totalConfigs - the configs generated so far, counting the start
+ * @param uniqueConfigs - the distinct configs seen so far, counting the start
+ * @param nanos - the wall time taken by this layer
+ * @author Aneesh Bukya
+ */
+public record LayerStats(int depth, int frontierSize, int expanded, int generated, int duplicates,
+                         int totalConfigs, int uniqueConfigs, long nanos) {
+    /**
+     * a rough size of the visited map's own entries, a hash map node plus its share of the table,
+     * not counting the configs themselves
+     */
+    public static final int VISITED_ENTRY_BYTES = 40;
+
+    /**
+     * the share of the neighbors generated in this layer that had already been seen
+     * @return a ratio from 0 to 1, 0 if nothing was generated
+     */
+    public double duplicateRatio() {
+        return generated == 0 ? 0 : (double) duplicates / generated;
+    }
+
+    /**
+     * how fast this layer was expanded
+     * @return the configs expanded per second
+     */
+    public double expansionRate() {
+        return nanos == 0 ? 0 : expanded * 1e9 / nanos;
+    }
+
+    /**
+     * an estimate of the memory used by the visited map's entries so far, not counting the configs
+     * @return the estimate in bytes
+     */
+    public long visitedBytes() {
+        return (long) uniqueConfigs * VISITED_ENTRY_BYTES;
+    }
+}
@@ -0,0 +1,18 @@
+package puzzles.common.solver;
+
+/**
+ * A configuration whose moves can only lead back a known number of breadth first layers. A
+ * search that keeps its layers apart, such as the {@link ExternalSolver}, then only has to check
+ * new configs against those few layers instead of every layer found so far.
+ * @author Aneesh Bukya
+ */
+public interface LayeredConfiguration extends Configuration {
+    /**
+     * The number of layers, counting back from the one being expanded, that a neighbor can
+     * already be in. It is 2 for puzzles where every move can be undone, as a neighbor is then
+     * in the layer before, the same layer or the next one, and 0 for puzzles where every move
+     * makes progress that can not be undone, such as a capture.
+     * @return the number of layers
+     */
+    int revisitedLayers();
+}
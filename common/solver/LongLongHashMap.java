@@ -0,0 +1,177 @@
+package puzzles.common.solver;
+
+/**
+ * An open addressing hash map from long keys to long values. Keys and values are kept in two
+ * flat arrays with linear probing, so an entry costs 16 bytes of table space and nothing is boxed.
+ * Entries can not be removed.
+ * @author Aneesh Bukya
+ */
+public class LongLongHashMap {
+    /** the key that marks an empty slot, entries with this key are kept on the side */
+    private static final long FREE = 0L;
+    /** the fraction of slots that may be used before the table doubles */
+    private static final double LOAD_FACTOR = 0.75;
+    /** the keys, FREE for an empty slot */
+    private long[] keys;
+    /** the values, in the same slots as their keys */
+    private long[] values;
+    /** the number of entries stored in the arrays */
+    private int size;
+    /** the number of entries the arrays can hold before they grow */
+    private int threshold;
+    /** true if the FREE key has been stored */
+    private boolean hasFreeKey;
+    /** the value of the FREE key */
+    private long freeValue;
+
+    /**
+     * Receives the entries of a map.
+     */
+    public interface EntryConsumer {
+        /**
+         * called once for each entry
+         * @param key - the key
+         * @param value - the value
+         */
+        void accept(long key, long value);
+    }
+
+    /**
+     * creates a map with room for a few entries
+     */
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    /**
+     * creates a map with room for the given number of entries before it has to grow
+     * @param expected - the number of entries expected
+     */
+    public LongLongHashMap(int expected) {
+        int capacity = Integer.highestOneBit((int) Math.max(4, expected / LOAD_FACTOR) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * spreads the bits of a key so that similar keys land in different slots
+     * @param key - the key
+     * @return the mixed hash
+     */
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * finds the slot holding a key, or the empty slot where it would go
+     * @param key - the key, which must not be FREE
+     * @return the slot index
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int index = (int) mix(key) & mask;
+        while (keys[index] != FREE && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * stores a value for a key that is not in the map yet
+     * @param key - the key
+     * @param value - the value
+     * @return true if the key was added, false if it was already present and nothing changed
+     */
+    public boolean putIfAbsent(long key, long value) {
+        if (key == FREE) {
+            if (hasFreeKey) {
+                return false;
+            }
+            hasFreeKey = true;
+            freeValue = value;
+            return true;
+        }
+        int index = slot(key);
+        if (keys[index] == key) {
+            return false;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * tells us if a key is in the map
+     * @param key - the key
+     * @return true or false
+     */
+    public boolean containsKey(long key) {
+        return key == FREE ? hasFreeKey : keys[slot(key)] == key;
+    }
+
+    /**
+     * gets the value stored for a key
+     * @param key - the key
+     * @param missing - the value returned if the key is not present
+     * @return the value
+     */
+    public long get(long key, long missing) {
+        if (key == FREE) {
+            return hasFreeKey ? freeValue : missing;
+        }
+        int index = slot(key);
+        return keys[index] == key ? values[index] : missing;
+    }
+
+    /**
+     * the number of entries in the map
+     * @return the size
+     */
+    public int size() {
+        return hasFreeKey ? size + 1 : size;
+    }
+
+    /**
+     * passes every entry to an action, in no particular order
+     * @param action - the action
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasFreeKey) {
+            action.accept(FREE, freeValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * creates empty arrays of a capacity
+     * @param capacity - the number of slots, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * doubles the table and puts every entry back in
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int index = slot(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package puzzles.common.solver;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A configuration that can encode the states of its puzzle as single longs. A solver can then
+ * search over the longs directly without creating a config object for every state.
+ * The encoding is relative to the configuration it was taken from: any state it produces must be
+ * passed back to that same configuration, which holds the puzzle's fixed data (its size, goal, ...).
+ * @author Aneesh Bukya
+ */
+public interface PackedConfiguration extends Configuration {
+    /**
+     * tells us if this configuration's puzzle is small enough to be packed into a long
+     * @return true or false
+     */
+    boolean isPackable();
+
+    /**
+     * encodes this configuration
+     * @return the packed state
+     */
+    long pack();
+
+    /**
+     * decodes a packed state back into a configuration
+     * @param state - a state produced by this puzzle
+     * @return the configuration
+     */
+    Configuration unpack(long state);
+
+    /**
+     * tells us if a packed state is a solution
+     * @param state - a state produced by this puzzle
+     * @return true or false
+     */
+    boolean isSolution(long state);
+
+    /**
+     * passes every neighbor of a packed state to an action
+     * @param state - a state produced by this puzzle
+     * @param action - called once for each neighbor state
+     */
+    void forEachNeighbor(long state, LongConsumer action);
+}
@@ -0,0 +1,161 @@
+package puzzles.common.solver;
+
+import java.util.*;
+import java.util.function.LongConsumer;
+
+/**
+ * A breadth first search solver for {@link PackedConfiguration}s. The frontier is a ring buffer
+ * of longs and the parent links are kept in a {@link LongLongHashMap}, so the search does not
+ * allocate anything per state. Configs are only created again for the final path.
+ * Configs that can not be packed are handed to a plain {@link Solver}.
+ * @author Aneesh Bukya
+ */
+public class PackedSolver implements SearchStrategy {
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+
+    /**
+     * The state of one search. It is the callback the neighbors of the config being expanded
+     * are passed to.
+     */
+    private static class Search implements LongConsumer {
+        /** the puzzle being solved */
+        private final PackedConfiguration puzzle;
+        /** maps every state seen to the state it was reached from */
+        private final LongLongHashMap predecessors = new LongLongHashMap();
+        /** the ring buffer of states waiting to be expanded, its length is a power of two */
+        private long[] queue = new long[16];
+        /** index of the front of the queue */
+        private int head;
+        /** number of states in the queue */
+        private int size;
+        /** the state being expanded */
+        private long current;
+        /** the number of neighbors generated */
+        private int generated;
+        /** true once a solution has been reached */
+        private boolean found;
+        /** the solution, if found */
+        private long goal;
+
+        /**
+         * starts a search
+         * @param puzzle - the puzzle, which also supplies the start state
+         */
+        Search(PackedConfiguration puzzle) {
+            this.puzzle = puzzle;
+            long start = puzzle.pack();
+            predecessors.putIfAbsent(start, start);
+            if (puzzle.isSolution(start)) {
+                found = true;
+                goal = start;
+            } else {
+                add(start);
+            }
+        }
+
+        /**
+         * runs the search until a solution is found or every reachable state has been seen
+         */
+        void run() {
+            while (!found && size > 0) {
+                current = queue[head];
+                head = (head + 1) & (queue.length - 1);
+                size--;
+                puzzle.forEachNeighbor(current, this);
+            }
+        }
+
+        /**
+         * handles one neighbor of the state being expanded
+         * @param nbr - the neighbor state
+         */
+        @Override
+        public void accept(long nbr) {
+            if (found) {
+                // the rest of the expanded state's neighbors are not counted, as with Solver
+                return;
+            }
+            generated++;
+            if (predecessors.putIfAbsent(nbr, current)) {
+                if (puzzle.isSolution(nbr)) {
+                    found = true;
+                    goal = nbr;
+                } else {
+                    add(nbr);
+                }
+            }
+        }
+
+        /**
+         * adds a state to the back of the queue, doubling it if it is full
+         * @param state - the state
+         */
+        private void add(long state) {
+            if (size == queue.length) {
+                long[] bigger = new long[queue.length << 1];
+                int firstPart = queue.length - head;
+                System.arraycopy(queue, head, bigger, 0, firstPart);
+                System.arraycopy(queue, 0, bigger, firstPart, head);
+                queue = bigger;
+                head = 0;
+            }
+            queue[(head + size) & (queue.length - 1)] = state;
+            size++;
+        }
+    }
+
+    /**
+     * a method that uses BFS over packed states to get the shortest path from start config to end config
+     * @param startConfig - start config
+     * @return a list with the shortest path, empty if there is none
+     */
+    public Collection<Configuration> solve(Configuration startConfig) {
+        if (!(startConfig instanceof PackedConfiguration) || !((PackedConfiguration) startConfig).isPackable()) {
+            Solver solver = new Solver();
+            Collection<Configuration> path = solver.solve(startConfig);
+            this.totalConfigs = solver.getTotalConfigs();
+            this.uniqueConfigs = solver.getUniqueConfigs();
+            return path;
+        }
+        PackedConfiguration puzzle = (PackedConfiguration) startConfig;
+        Search search = new Search(puzzle);
+        search.run();
+        // the counts are kept when there is no solution too, as Solver keeps them
+        this.totalConfigs = search.generated + 1;
+        this.uniqueConfigs = search.predecessors.size();
+        if (!search.found) {
+            return new ArrayList<>();
+        }
+        return constructPath(puzzle, search.predecessors, search.goal);
+    }
+
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+
+    /**
+     * Method to return a path from the starting to finishing config, unpacking each state on it.
+     *
+     * @param puzzle the puzzle the states belong to
+     * @param predecessors Map used to reconstruct the path
+     * @param goal the solution state that was found
+     * @return a list containing the sequence of config comprising the path.
+     */
+    private List<Configuration> constructPath(PackedConfiguration puzzle, LongLongHashMap predecessors, long goal) {
+        List<Configuration> path = new ArrayList<>();
+        long current = goal;
+        long previous = predecessors.get(current, current);
+        path.add(puzzle.unpack(current));
+        while (previous != current) {
+            current = previous;
+            path.add(puzzle.unpack(current));
+            previous = predecessors.get(current, current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,102 @@
+package puzzles.common.solver;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A breadth first search solver that expands each layer of the search in parallel. Every config
+ * of a layer is expanded on the fork/join pool and the visited configs are kept in a concurrent
+ * map, so the first config to reach a neighbor claims it. Layers are still finished one at a
+ * time, so the path found is just as short as the one from {@link Solver}, although it may be a
+ * different path of the same length.
+ * The configs being solved must be safe to expand from several threads at once.
+ * @author Aneesh Bukya
+ */
+public class ParallelSolver implements SearchStrategy {
+    private int totalConfigs = 0;
+    private int uniqueConfigs = 0;
+    /** the pool the layers are expanded on */
+    private final ForkJoinPool pool;
+
+    /**
+     * creates a solver that runs on the common fork/join pool
+     */
+    public ParallelSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * creates a solver that runs on the given pool
+     * @param pool - the pool to expand layers on
+     */
+    public ParallelSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * a method that uses a layer by layer parallel BFS to get the shortest path from start config to end config
+     * @param startConfig - start config
+     * @return a list with the shortest path, empty if there is none
+     */
+    public Collection<Configuration> solve(Configuration startConfig) {
+        Map<Configuration, Configuration> predecessors = new ConcurrentHashMap<>();
+        AtomicInteger generated = new AtomicInteger();
+        predecessors.put(startConfig, startConfig);
+        List<Configuration> layer = List.of(startConfig);
+
+        Configuration goal = null;
+        while (!layer.isEmpty()) {
+            List<Configuration> current = layer;
+            goal = pool.submit(() -> current.parallelStream()
+                    .filter(Configuration::isSolution)
+                    .findAny()
+                    .orElse(null)).join();
+            if (goal != null) {
+                break;
+            }
+            // a neighbor only joins the next layer if this is the config that put it in the map
+            layer = pool.submit(() -> current.parallelStream()
+                    .flatMap(config -> config.getNeighbors().stream()
+                            .peek(nbr -> generated.incrementAndGet())
+                            .filter(nbr -> predecessors.putIfAbsent(nbr, config) == null))
+                    .collect(Collectors.toList())).join();
+        }
+        this.totalConfigs = generated.get() + 1;
+        this.uniqueConfigs = predecessors.size();
+        if (goal == null) {
+            return new ArrayList<>();
+        }
+        return constructPath(predecessors, goal);
+    }
+
+    public int getTotalConfigs(){
+        return this.totalConfigs;
+    }
+    public int getUniqueConfigs(){
+        return this.uniqueConfigs;
+    }
+
+    /**
+     * Method to return a path from the starting to finishing config.
+     *
+     * @param predecessors Map used to reconstruct the path
+     * @param goal the solution config that was found
+     * @return a list containing the sequence of config comprising the path.
+     */
+    private List<Configuration> constructPath(Map<Configuration, Configuration> predecessors, Configuration goal) {
+        List<Configuration> path = new ArrayList<>();
+        Configuration current = goal;
+        Configuration previous = predecessors.get(current);
+        path.add(current);
+        while (!previous.equals(current)) {
+            current = previous;
+            path.add(current);
+            previous = predecessors.get(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
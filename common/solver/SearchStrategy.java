@@ -0,0 +1,30 @@
+package puzzles.common.solver;
+
+import java.util.Collection;
+
+/**
+ * A way of searching for a path from a start configuration to a solution. The solvers differ in
+ * how much memory and time they need and in which puzzles they can take advantage of, so callers
+ * pick the one that suits their puzzle.
+ * @author Aneesh Bukya
+ */
+public interface SearchStrategy {
+    /**
+     * searches for a path from the start config to a solution
+     * @param startConfig - start config
+     * @return the configs on the path, starting with the start config, empty if there is no solution
+     */
+    Collection<Configuration> solve(Configuration startConfig);
+
+    /**
+     * the number of configs generated by the last search
+     * @return the count
+     */
+    int getTotalConfigs();
+
+    /**
+     * the number of distinct configs seen by the last search
+     * @return the count
+     */
+    int getUniqueConfigs();
+}
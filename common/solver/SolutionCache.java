@@ -0,0 +1,81 @@
+package puzzles.common.solver;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers, for configurations on solution paths that have already been found, how far they are
+ * from a solution and which config comes next. Once a path has been solved, every config on it
+ * can be answered without searching again. The cache holds at most a fixed number of configs and
+ * forgets the least recently used ones first.
+ * @author Aneesh Bukya
+ */
+public class SolutionCache {
+    /**
+     * What is known about one config.
+     * @param distance - the number of moves to a solution, -1 if there is no solution
+     * @param next - the next config on a shortest path, null if solved or unsolvable
+     */
+    public record Entry(int distance, Configuration next) {
+        /**
+         * tells us if a solution can be reached
+         * @return true or false
+         */
+        public boolean isSolvable() {
+            return distance >= 0;
+        }
+    }
+
+    /** the entries, in least recently used order */
+    private final LinkedHashMap<Configuration, Entry> entries;
+
+    /**
+     * creates an empty cache
+     * @param maxSize - the most configs to remember
+     */
+    public SolutionCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Configuration, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * looks up a config
+     * @param config - the config
+     * @return what is known about it, null if nothing
+     */
+    public synchronized Entry get(Configuration config) {
+        return entries.get(config);
+    }
+
+    /**
+     * records a shortest path found by a solver, so every config on it can be answered later
+     * @param path - the path from the start config to a solution, as returned by a solver
+     */
+    public synchronized void putPath(List<Configuration> path) {
+        int last = path.size() - 1;
+        for (int i = last; i >= 0; i--) {
+            entries.put(path.get(i), new Entry(last - i, i < last ? path.get(i + 1) : null));
+        }
+    }
+
+    /**
+     * records that a config can not be solved
+     * @param config - the config
+     */
+    public synchronized void putUnsolvable(Configuration config) {
+        entries.put(config, new Entry(-1, null));
+    }
+
+    /**
+     * the number of configs remembered
+     * @return the size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
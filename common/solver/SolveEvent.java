@@ -0,0 +1,29 @@
+package puzzles.common.solver;
+
+/**
+ * Something that happened during a search streamed by a {@link StreamingSolver}. A stream is
+ * any number of layer events while the search runs, one finished event when it ends, then one
+ * step event for each config on the path, in order from the start.
+ * @author Aneesh Bukya
+ */
+public sealed interface SolveEvent {
+    /**
+     * Every config at one depth has been expanded. Only breadth first {@link Solver}s report
+     * layers, and layers may be dropped if the subscriber falls behind.
+     * @param stats - the counters and timing of the layer
+     */
+    record Layer(LayerStats stats) implements SolveEvent {}
+
+    /**
+     * The search has ended.
+     * @param stats - the outcome of the search
+     */
+    record Finished(SolveStats stats) implements SolveEvent {}
+
+    /**
+     * One config of the path.
+     * @param index - its position on the path, 0 for the start config
+     * @param config - the config
+     */
+    record Step(int index, Configuration config) implements SolveEvent {}
+}
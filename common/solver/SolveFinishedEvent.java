@@ -0,0 +1,29 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering a whole search by a {@link Solver}, committed when it ends. The
+ * fields match {@link SolveStats}.
+ * @author Aneesh Bukya
+ */
+@Name("puzzles.SolveFinished")
+@Label("Solve Finished")
+@Category({"Puzzles", "Solver"})
+@Description("A breadth first search has ended, with or without a solution")
+class SolveFinishedEvent extends Event {
+    @Label("Solved")
+    boolean solved;
+    @Label("Moves")
+    int moves;
+    @Label("Depth")
+    int depth;
+    @Label("Total Configs")
+    int totalConfigs;
+    @Label("Unique Configs")
+    int uniqueConfigs;
+}
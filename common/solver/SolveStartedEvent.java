@@ -0,0 +1,20 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event marking the start of a search by a {@link Solver}.
+ * @author Aneesh Bukya
+ */
+@Name("puzzles.SolveStarted")
+@Label("Solve Started")
+@Category({"Puzzles", "Solver"})
+@Description("A breadth first search has started")
+class SolveStartedEvent extends Event {
+    @Label("Start Config")
+    String start;
+}
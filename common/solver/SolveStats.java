@@ -0,0 +1,14 @@
+package puzzles.common.solver;
+
+/**
+ * The outcome of one search by a {@link Solver}.
+ * @param solved - true if a solution was found
+ * @param moves - the number of moves in the path found, -1 if there is none
+ * @param depth - the deepest layer the search reached
+ * @param totalConfigs - the configs generated, counting the start
+ * @param uniqueConfigs - the distinct configs seen, counting the start
+ * @param nanos - the wall time of the search, not counting building the path
+ * @author Aneesh Bukya
+ */
+public record SolveStats(boolean solved, int moves, int depth, int totalConfigs, int uniqueConfigs, long nanos) {
+}
@@ -1,56 +1,210 @@
 package puzzles.common.solver;
 
+import jdk.jfr.FlightRecorder;
+
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
 /**
  * The solver class which employs the BFS (breadth first search) algorithm in order to find the least number of moves it
  * takes to reach the solution.
  * @author Aneesh Bukya
  * @author Alaina Mupparthi
  */
-public class Solver {
+public class Solver implements SearchStrategy {
     private int totalConfigs = 0;
     private int uniqueConfigs = 0;
+    /** creates the queue used for each search */
+    private final Supplier<Frontier<Configuration>> frontierFactory;
+    /** true if symmetric configs should share one entry in the visited map */
+    private boolean symmetryReduction = false;
+    /** told about the progress of the search, null if nobody is listening */
+    private SolverListener listener;
+    /** the layers expanded by the last search */
+    private List<LayerStats> layers = new ArrayList<>();
+    /** the outcome of the last search, null before the first one ends */
+    private SolveStats stats;
+
+    /**
+     * creates a solver that queues configurations in an {@link ArrayFrontier}
+     */
+    public Solver() {
+        this(ArrayFrontier::new);
+    }
+
+    /**
+     * creates a solver that queues configurations in frontiers made by the given factory
+     * @param frontierFactory - supplies a new, empty FIFO frontier for every call to solve
+     */
+    public Solver(Supplier<Frontier<Configuration>> frontierFactory) {
+        this.frontierFactory = frontierFactory;
+    }
+
+    /**
+     * Turns symmetry reduction on or off. When it is on, each {@link SymmetricConfiguration} is
+     * recorded in the visited map under its canonical form, so only one config of each symmetry
+     * group is expanded. The path returned still uses the configs as they were generated, in the
+     * start config's orientation.
+     * @param symmetryReduction - true to reduce symmetric configs
+     */
+    public void setSymmetryReduction(boolean symmetryReduction) {
+        this.symmetryReduction = symmetryReduction;
+    }
+
+    /**
+     * sets the listener that is told when a search starts and ends and each time a layer of it has
+     * been expanded
+     * @param listener - the listener, null for none
+     */
+    public void setListener(SolverListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * the key a config is recorded under in the visited map
+     * @param config - the config
+     * @return its canonical form if symmetry reduction applies to it, otherwise the config itself
+     */
+    private Configuration key(Configuration config) {
+        if (symmetryReduction && config instanceof SymmetricConfiguration) {
+            return ((SymmetricConfiguration) config).canonical();
+        }
+        return config;
+    }
 
     /**
-     * a method that uses BFS to get the shortest path from start config to end config
+     * a method that uses BFS to get the shortest path from start config to end config.
+     * Neighbors are tested as soon as they are generated, so the search stops without expanding
+     * the rest of the layer the solution is found in.
+     * The search checks for interruption before expanding each config, so it can be cancelled
+     * by interrupting the thread running it.
+     * Each layer is recorded in {@link #getLayers()}, passed to the listener and committed as a
+     * flight recorder event, and so is the outcome of the search. The counters keep their values
+     * when there is no solution.
      * @param startConfig - start config
-     * @return a list with the shortest path
+     * @return a list with the shortest path, empty if there is none
+     * @throws CancellationException - if the thread was interrupted during the search
      */
     public Collection<Configuration> solve(Configuration startConfig){
+        long begin = System.nanoTime();
+        // the first use of an event class loads the flight recorder's machinery, which takes a
+        // noticeable time, so the events are only created once a recording has been started
+        boolean recording = FlightRecorder.isInitialized();
+        SolveFinishedEvent finished = null;
+        if (recording) {
+            SolveStartedEvent started = new SolveStartedEvent();
+            if (started.isEnabled()) {
+                started.start = startConfig.toString();
+                started.commit();
+            }
+            finished = new SolveFinishedEvent();
+            finished.begin();
+        }
+        if (listener != null) {
+            listener.solveStarted(startConfig);
+        }
 
-        List<Configuration> queue = new LinkedList<>();
+        Frontier<Configuration> queue = frontierFactory.get();
         Map<Configuration, Configuration> predecessors = new HashMap<>();
 
         queue.add(startConfig);
 
-        predecessors.put(startConfig, startConfig);
+        predecessors.put(key(startConfig), startConfig);
+        // the start config counts as the first one seen
+        this.totalConfigs = 1;
+        this.uniqueConfigs = 1;
+        this.layers = new ArrayList<>();
+        this.stats = null;
 
-        while (!queue.isEmpty()){
-            Configuration current = queue.remove(0);
-            // doesn't know ending configuration
-            if(current.isSolution()){
-                this.totalConfigs++;
-                this.uniqueConfigs++;
-                break;
+        Configuration goal = startConfig.isSolution() ? startConfig : null;
+        int depth = 0;
+        int layerRemaining = 1;
+        // the counters as they were when the current layer started
+        LayerExpandedEvent layerEvent = recording ? new LayerExpandedEvent() : null;
+        if (layerEvent != null) {
+            layerEvent.begin();
+        }
+        long layerBegin = begin;
+        int layerExpanded = 0;
+        int layerTotal = 1;
+        int layerUnique = 1;
+        while (goal == null && !queue.isEmpty()){
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Solve interrupted at depth " + depth);
             }
-            for(Configuration nbr : current.getNeighbors()) {
+            Configuration current = queue.remove();
+            layerExpanded++;
+            for (Iterator<Configuration> nbrs = current.neighbors(); nbrs.hasNext(); ) {
+                Configuration nbr = nbrs.next();
                 totalConfigs++;
-                if (!predecessors.containsKey(nbr)) {
-                    predecessors.put(nbr, current);
-                    queue.add(nbr);
+                if (predecessors.putIfAbsent(key(nbr), current) == null) {
                     this.uniqueConfigs++;
+                    if (nbr.isSolution()) {
+                        goal = nbr;
+                        break;
+                    }
+                    queue.add(nbr);
+                }
+            }
+            if (goal == null && --layerRemaining == 0) {
+                // everything left in the queue is one move deeper
+                depth++;
+                layerRemaining = queue.size();
+                long now = System.nanoTime();
+                int generated = totalConfigs - layerTotal;
+                LayerStats layer = new LayerStats(depth, layerRemaining, layerExpanded, generated,
+                        generated - (uniqueConfigs - layerUnique), totalConfigs, uniqueConfigs, now - layerBegin);
+                layers.add(layer);
+                commit(layerEvent, layer);
+                if (listener != null) {
+                    listener.layerExpanded(layer);
                 }
+                if (layerEvent != null) {
+                    layerEvent = new LayerExpandedEvent();
+                    layerEvent.begin();
+                }
+                layerBegin = now;
+                layerExpanded = 0;
+                layerTotal = totalConfigs;
+                layerUnique = uniqueConfigs;
             }
         }
-        // prints in console
-        Collection<Configuration> path = constructPath(predecessors, startConfig);
-        if (path.isEmpty()){
-            this.totalConfigs = 1 ;
-            this.uniqueConfigs = 1;
+        long nanos = System.nanoTime() - begin;
+        List<Configuration> path = goal == null ? new ArrayList<>() : constructPath(predecessors, startConfig, goal);
+        this.stats = new SolveStats(goal != null, path.size() - 1, goal == null ? depth : path.size() - 1,
+                totalConfigs, uniqueConfigs, nanos);
+        if (finished != null && finished.shouldCommit()) {
+            finished.solved = stats.solved();
+            finished.moves = stats.moves();
+            finished.depth = stats.depth();
+            finished.totalConfigs = totalConfigs;
+            finished.uniqueConfigs = uniqueConfigs;
+            finished.commit();
+        }
+        if (listener != null) {
+            listener.solveFinished(stats);
         }
         return path;
     }
 
+    /**
+     * commits the flight recorder event of a layer, if recording is on
+     * @param event - the event, begun when the layer started, null if there is no recording
+     * @param layer - the layer's counters
+     */
+    private static void commit(LayerExpandedEvent event, LayerStats layer) {
+        if (event != null && event.shouldCommit()) {
+            event.depth = layer.depth();
+            event.frontierSize = layer.frontierSize();
+            event.expanded = layer.expanded();
+            event.generated = layer.generated();
+            event.duplicates = layer.duplicates();
+            event.uniqueConfigs = layer.uniqueConfigs();
+            event.visitedBytes = layer.visitedBytes();
+            event.commit();
+        }
+    }
+
     public int getTotalConfigs(){
         return this.totalConfigs;
     }
@@ -58,34 +212,44 @@ public class Solver {
         return this.uniqueConfigs;
     }
 
+    /**
+     * the layers fully expanded by the last search, shallowest first. The layer the solution was
+     * found in is cut short and is not included.
+     * @return the layers
+     */
+    public List<LayerStats> getLayers() {
+        return Collections.unmodifiableList(this.layers);
+    }
+
+    /**
+     * the outcome of the last search
+     * @return the outcome, null if no search has ended yet
+     */
+    public SolveStats getStats() {
+        return this.stats;
+    }
+
     /**
      * Method to return a path from the starting to finishing config.
      *
-     * @param predecessors Map used to reconstruct the path
+     * @param predecessors Map used to reconstruct the path, keyed as described in
+     *                     {@link #setSymmetryReduction(boolean)}
      * @param start starting config
+     * @param goal the solution config the search found
      * @return a list containing the sequence of config comprising the path.
-     * An empty list if no path exists.
      */
-    public List<Configuration> constructPath(Map<Configuration,Configuration> predecessors, Configuration start){
-        List<Configuration> path = new LinkedList<>();
-        Configuration current = null;
-        // set solution to current
-        for (Map.Entry<Configuration,Configuration> entry : predecessors.entrySet()) {
-            if (entry.getKey().isSolution()) {
-                current = entry.getKey();
-            }
-        }
-        if (current == null) {
-            return path;
-        }
-        // reverse direction from solution to start (but path is from start -> solution)
+    public List<Configuration> constructPath(Map<Configuration,Configuration> predecessors, Configuration start,
+                                             Configuration goal){
+        List<Configuration> path = new ArrayList<>();
+        Configuration current = goal;
+        // reverse direction from solution to start, then flip it (path is from start -> solution)
         while (!current.equals(start)) {
-            path.add( 0, current );
-            current = predecessors.get(current);
+            path.add(current);
+            current = predecessors.get(key(current));
         }
-        // add start to the beginning
-        path.add(0, start);
+        path.add(start);
+        Collections.reverse(path);
 
         return path;
     }
-}
\ No newline at end of file
+}
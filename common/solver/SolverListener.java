@@ -0,0 +1,28 @@
+package puzzles.common.solver;
+
+/**
+ * Receives progress reports from a {@link Solver} while it searches. The calls are made on the
+ * thread running the search, so they should return quickly.
+ * @author Aneesh Bukya
+ */
+public interface SolverListener {
+    /**
+     * called before the search begins
+     * @param start - the start config
+     */
+    default void solveStarted(Configuration start) {
+    }
+
+    /**
+     * called each time every config at one depth has been expanded
+     * @param stats - the counters and timing of the layer
+     */
+    void layerExpanded(LayerStats stats);
+
+    /**
+     * called when the search ends with or without a solution, but not when it is cancelled
+     * @param stats - the outcome of the search
+     */
+    default void solveFinished(SolveStats stats) {
+    }
+}
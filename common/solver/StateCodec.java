@@ -0,0 +1,48 @@
+package puzzles.common.solver;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Turns the configs of one puzzle type into bytes and back. The encoding of a config holds
+ * everything needed to rebuild it, including the puzzle's fixed data such as its size or goal,
+ * so it can be stored or sent to another process on its own.
+ * Codecs keep no state, so one can be shared by any number of threads.
+ * @param <C> - the type of config
+ * @author Aneesh Bukya
+ */
+public interface StateCodec<C extends Configuration> {
+    /**
+     * the number of bytes {@link #encode} will write for a config
+     * @param config - the config
+     * @return the size in bytes
+     */
+    int size(C config);
+
+    /**
+     * writes a config at the buffer's position, moving the position past it
+     * @param config - the config
+     * @param buffer - the buffer, with at least {@link #size} bytes remaining
+     * @throws java.nio.BufferOverflowException - if the buffer is too small
+     */
+    void encode(C config, ByteBuffer buffer);
+
+    /**
+     * reads a config at the buffer's position, moving the position past it
+     * @param buffer - the buffer
+     * @return the config
+     * @throws java.nio.BufferUnderflowException - if the buffer ends before the config does
+     * @throws IllegalArgumentException - if the bytes are not a valid config
+     */
+    C decode(ByteBuffer buffer);
+
+    /**
+     * encodes a config into a new buffer of exactly the right size
+     * @param config - the config
+     * @return the buffer, flipped ready for reading
+     */
+    default ByteBuffer encode(C config) {
+        ByteBuffer buffer = ByteBuffer.allocate(size(config));
+        encode(config, buffer);
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,176 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs searches in the background and publishes what happens as a stream of {@link SolveEvent}s,
+ * so a caller can show progress while the search runs and handle the path one step at a time.
+ * Each subscription to a publisher returned by {@link #solve} runs its own search on its own
+ * thread; the events are delivered through a {@link SubmissionPublisher}, which respects the
+ * subscriber's demand. Cancelling the subscription interrupts the search.
+ * The path can only be walked from the solution back to the start, so the steps are published
+ * once it has been rebuilt, in order from the start.
+ * @author Aneesh Bukya
+ */
+public class StreamingSolver {
+    /** the most events buffered for a subscriber that has not asked for them yet */
+    private static final int BUFFER_SIZE = 256;
+
+    /** creates the solver used for each search */
+    private final Supplier<? extends SearchStrategy> solvers;
+    /** runs the searches */
+    private final Executor searches;
+
+    /**
+     * creates a streaming solver that runs a breadth first {@link Solver} on a new thread for each search
+     */
+    public StreamingSolver() {
+        this(Solver::new);
+    }
+
+    /**
+     * creates a streaming solver that runs each search on a new thread
+     * @param solvers - creates the solver for each search; {@link Solver}s also report their layers
+     */
+    public StreamingSolver(Supplier<? extends SearchStrategy> solvers) {
+        this(solvers, runnable -> {
+            Thread thread = new Thread(runnable, "solve-stream");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * creates a streaming solver
+     * @param solvers - creates the solver for each search; {@link Solver}s also report their layers
+     * @param searches - runs the searches, which block while the subscriber catches up, so it
+     *                 should not be the executor the events are delivered on
+     */
+    public StreamingSolver(Supplier<? extends SearchStrategy> solvers, Executor searches) {
+        this.solvers = solvers;
+        this.searches = searches;
+    }
+
+    /**
+     * creates a publisher of the events of a search from a start config. Nothing is searched
+     * until a subscriber subscribes, and every subscriber gets a search of its own.
+     * @param startConfig - start config
+     * @return the publisher
+     */
+    public Flow.Publisher<SolveEvent> solve(Configuration startConfig) {
+        return subscriber -> {
+            SubmissionPublisher<SolveEvent> publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), BUFFER_SIZE);
+            FutureTask<Void> search = new FutureTask<>(() -> run(startConfig, publisher), null);
+            publisher.subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {
+                            subscription.request(n);
+                        }
+
+                        @Override
+                        public void cancel() {
+                            subscription.cancel();
+                            search.cancel(true);
+                        }
+                    });
+                }
+
+                @Override
+                public void onNext(SolveEvent event) {
+                    subscriber.onNext(event);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    subscriber.onError(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+            searches.execute(search);
+        };
+    }
+
+    /**
+     * runs a search and passes every event of it to an action, like {@link SubmissionPublisher#consume}
+     * @param startConfig - start config
+     * @param action - called with each event, in order, on a delivery thread
+     * @return a future that completes when the last event has been handled, or exceptionally if the search fails
+     */
+    public CompletableFuture<Void> consume(Configuration startConfig, Consumer<? super SolveEvent> action) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        solve(startConfig).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                done.whenComplete((result, error) -> subscription.cancel());
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(SolveEvent event) {
+                try {
+                    action.accept(event);
+                } catch (RuntimeException e) {
+                    done.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    /**
+     * runs one search, publishing its layers, its outcome and then its path
+     * @param startConfig - start config
+     * @param publisher - where the events go, closed when the search is over
+     */
+    private void run(Configuration startConfig, SubmissionPublisher<SolveEvent> publisher) {
+        try {
+            SearchStrategy solver = solvers.get();
+            if (solver instanceof Solver) {
+                // layers only show progress, so drop them rather than hold up the search
+                ((Solver) solver).setListener(layer -> publisher.offer(new SolveEvent.Layer(layer), null));
+            }
+            long begin = System.nanoTime();
+            List<Configuration> path = new ArrayList<>(solver.solve(startConfig));
+            SolveStats stats = solver instanceof Solver ? ((Solver) solver).getStats()
+                    : new SolveStats(!path.isEmpty(), path.size() - 1, Math.max(path.size() - 1, 0),
+                                     solver.getTotalConfigs(), solver.getUniqueConfigs(), System.nanoTime() - begin);
+            publisher.submit(new SolveEvent.Finished(stats));
+            for (int i = 0; i < path.size() && !Thread.currentThread().isInterrupted(); i++) {
+                publisher.submit(new SolveEvent.Step(i, path.get(i)));
+            }
+            publisher.close();
+        } catch (CancellationException e) {
+            // the subscriber cancelled, so there is nobody left to tell
+            publisher.close();
+        } catch (RuntimeException | OutOfMemoryError e) {
+            publisher.closeExceptionally(e);
+        }
+    }
+}
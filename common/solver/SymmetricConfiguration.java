@@ -0,0 +1,16 @@
+package puzzles.common.solver;
+
+/**
+ * A configuration whose puzzle has symmetries, such as rotations or reflections of a board, that
+ * do not change whether it can be solved or how many moves that takes. A search only has to
+ * visit one configuration of every group of symmetric ones.
+ * @author Aneesh Bukya
+ */
+public interface SymmetricConfiguration extends Configuration {
+    /**
+     * the representative of this configuration's symmetry group. Every configuration in the
+     * group returns an equal representative, and it may be this configuration itself.
+     * @return the canonical config
+     */
+    Configuration canonical();
+}
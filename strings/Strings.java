@@ -1,9 +1,8 @@
 package puzzles.strings;
 
-import puzzles.common.solver.Configuration;
-import puzzles.common.solver.Solver;
-
-import java.util.Collection;
+import puzzles.common.solver.AStarSolver;
+import puzzles.common.solver.SolveEvent;
+import puzzles.common.solver.StreamingSolver;
 
 public class Strings {
     public static void main(String[] args) {
@@ -14,18 +13,15 @@ public class Strings {
 
             StringsConfig start = new StringsConfig(args[0], args[1]);
 
-            Solver solver = new Solver();
-            Collection<Configuration> solutions =  solver.solve(start);
-            // solve will print the configs
-            int i = 0;
-            if (solutions.size() != 0) {
-                for(Configuration config : solutions){
-                    System.out.println("Step " + i + ": " + config.toString());
-                    i++;
+            StreamingSolver solver = new StreamingSolver(AStarSolver::new);
+            // print each step as the search hands it over
+            solver.consume(start, event -> {
+                if (event instanceof SolveEvent.Finished finished && !finished.stats().solved()) {
+                    System.out.println("No solution");
+                } else if (event instanceof SolveEvent.Step step) {
+                    System.out.println("Step " + step.index() + ": " + step.config());
                 }
-            } else {
-                System.out.println("No solution");
-            }
+            }).join();
         }
     }
 }
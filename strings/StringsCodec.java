@@ -0,0 +1,100 @@
+package puzzles.strings;
+
+import puzzles.common.solver.StateCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes strings puzzles as the lengths of the string and the end string as unsigned shorts,
+ * a byte giving the bytes used per character, then the characters of both. Characters take one
+ * byte each unless one of them is past 0xFF, so an upper case puzzle of n letters takes 5 + 2n bytes.
+ * @author Aneesh Bukya
+ */
+public class StringsCodec implements StateCodec<StringsConfig> {
+    /** the longest string that can be encoded */
+    public static final int MAX_LENGTH = 0xFFFF;
+
+    /**
+     * the bytes needed for each character of a puzzle
+     * @param config - the puzzle
+     * @return 1 or 2
+     */
+    private static int width(StringsConfig config) {
+        for (char letter : config.letters()) {
+            if (letter > 0xFF) {
+                return Character.BYTES;
+            }
+        }
+        for (char letter : config.end()) {
+            if (letter > 0xFF) {
+                return Character.BYTES;
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public int size(StringsConfig config) {
+        return 5 + width(config) * (config.letters().length + config.end().length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException - if a string is longer than {@link #MAX_LENGTH}
+     */
+    @Override
+    public void encode(StringsConfig config, ByteBuffer buffer) {
+        char[] letters = config.letters();
+        char[] end = config.end();
+        if (letters.length > MAX_LENGTH || end.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Strings longer than " + MAX_LENGTH + " can not be encoded");
+        }
+        int width = width(config);
+        buffer.putShort((short) letters.length);
+        buffer.putShort((short) end.length);
+        buffer.put((byte) width);
+        put(letters, width, buffer);
+        put(end, width, buffer);
+    }
+
+    /**
+     * writes characters
+     * @param letters - the characters
+     * @param width - the bytes per character
+     * @param buffer - the buffer
+     */
+    private static void put(char[] letters, int width, ByteBuffer buffer) {
+        for (char letter : letters) {
+            if (width == 1) {
+                buffer.put((byte) letter);
+            } else {
+                buffer.putChar(letter);
+            }
+        }
+    }
+
+    @Override
+    public StringsConfig decode(ByteBuffer buffer) {
+        char[] letters = new char[buffer.getShort() & 0xFFFF];
+        char[] end = new char[buffer.getShort() & 0xFFFF];
+        int width = buffer.get();
+        if (width != 1 && width != Character.BYTES) {
+            throw new IllegalArgumentException("Bad character width " + width);
+        }
+        get(letters, width, buffer);
+        get(end, width, buffer);
+        return new StringsConfig(letters, end);
+    }
+
+    /**
+     * reads characters
+     * @param letters - filled with the characters
+     * @param width - the bytes per character
+     * @param buffer - the buffer
+     */
+    private static void get(char[] letters, int width, ByteBuffer buffer) {
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = width == 1 ? (char) (buffer.get() & 0xFF) : buffer.getChar();
+        }
+    }
+}
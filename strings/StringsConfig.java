@@ -1,70 +1,299 @@
 package puzzles.strings;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.GoalConfiguration;
+import puzzles.common.solver.HeuristicConfiguration;
+import puzzles.common.solver.LayeredConfiguration;
+import puzzles.common.solver.PackedConfiguration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.function.LongConsumer;
 
-public class StringsConfig implements Configuration {
-    private String start;
-    static String end;
+public class StringsConfig implements GoalConfiguration, PackedConfiguration, HeuristicConfiguration, LayeredConfiguration {
+    /** the number of bits used for each letter of a packed string */
+    private static final int BITS_PER_LETTER = 5;
+    /** the longest string that fits in a packed state */
+    private static final int MAX_PACKED_LENGTH = Long.SIZE / BITS_PER_LETTER;
+    /** marks a goal that no packed state can be equal to */
+    private static final long UNREACHABLE = -1;
+    /** the characters of the string, never changed once the config has been handed out */
+    private final char[] letters;
+    /** the hash of the string, the same as String.hashCode */
+    private final int hash;
+    /** the goal of the puzzle, shared by every config of one search */
+    private final Goal goal;
 
+    /**
+     * What every config of one puzzle has in common, worked out once when the puzzle is created.
+     */
+    private static final class Goal {
+        /** the string to reach */
+        private final char[] end;
+        /** the hash of the end string */
+        private final int endHash;
+        /** false if the end has a character that is not a letter, in which case no move can be made */
+        private final boolean movable;
+        /** the end packed like the puzzle's states, UNREACHABLE if no state can equal it */
+        private final long packedEnd;
+        /** the powers of 31, which is what the hash changes by when a character that many places
+         * from the end goes up by one; long enough for both the start and the end string */
+        private final int[] powers;
+
+        /**
+         * works out the goal of a puzzle
+         * @param length - the length of the start string
+         * @param end - the string to reach, which the goal takes over
+         */
+        private Goal(int length, char[] end) {
+            this.end = end;
+            this.endHash = hash(end);
+            boolean letters = true;
+            for (char letter : this.end) {
+                letters &= Character.isLetter(letter);
+            }
+            this.movable = letters;
+            this.packedEnd = end.length == length ? encode(end) : UNREACHABLE;
+            this.powers = new int[Math.max(length, end.length)];
+            int power = 1;
+            for (int i = 0; i < this.powers.length; i++) {
+                this.powers[i] = power;
+                power *= 31;
+            }
+        }
+    }
+
+    /**
+     * creates a strings puzzle
+     * @param start - the string to start from
+     * @param end - the string to reach
+     */
     public StringsConfig(String start, String end){
-        this.start = start;
-        this.end = end;
+        this(start.toCharArray(), end.toCharArray());
+    }
+
+    /**
+     * creates a strings puzzle from the characters of its strings
+     * @param start - the string to start from, which the config takes over
+     * @param end - the string to reach, which the config takes over
+     */
+    StringsConfig(char[] start, char[] end) {
+        this(start, hash(start), new Goal(start.length, end));
+    }
+
+    /**
+     * creates a config of an existing puzzle
+     * @param letters - the characters, which the config takes over
+     * @param hash - the hash of the characters
+     * @param goal - the puzzle's goal
+     */
+    private StringsConfig(char[] letters, int hash, Goal goal) {
+        this.letters = letters;
+        this.hash = hash;
+        this.goal = goal;
+    }
+
+    /**
+     * hashes characters the same way as String.hashCode
+     * @param letters - the characters
+     * @return the hash
+     */
+    private static int hash(char[] letters) {
+        int hash = 0;
+        for (char letter : letters) {
+            hash = 31 * hash + letter;
+        }
+        return hash;
+    }
+
+    /**
+     * the characters of the string, which must not be changed
+     * @return the characters
+     */
+    char[] letters() {
+        return this.letters;
     }
+
+    /**
+     * the characters of the string to reach, which must not be changed
+     * @return the characters
+     */
+    char[] end() {
+        return goal.end;
+    }
+
+    /**
+     * every letter change can be undone by the opposite change
+     * @return 2
+     */
+    @Override
+    public int revisitedLayers() {
+        return 2;
+    }
+
     @Override
     public boolean isSolution() {
-        return this.start.equals(end);
+        return this.hash == goal.endHash && Arrays.equals(this.letters, goal.end);
+    }
+
+    /**
+     * creates the config with one character changed, working out its hash from this config's
+     * @param i - the position of the character
+     * @param letter - the new character
+     * @return the new config
+     */
+    private StringsConfig change(int i, char letter) {
+        char[] copy = this.letters.clone();
+        copy[i] = letter;
+        int power = goal.powers[this.letters.length - 1 - i];
+        return new StringsConfig(copy, this.hash + (letter - this.letters[i]) * power, goal);
     }
 
     @Override
     public Collection<Configuration> getNeighbors() {
-        for (int j = 0; j < end.length(); j++) {
-            if (!Character.isLetter(end.charAt(j))) {
-                return new ArrayList<>();
-            }
+        if (!goal.movable) {
+            return new ArrayList<>();
         }
-        Collection<Configuration> configs = new ArrayList<>();
-        for (int i = 0; i < this.start.length(); i++) {
-            StringBuilder left = new StringBuilder(this.start);
-            StringBuilder right = new StringBuilder(this.start);
-            if (this.start.charAt(i) == 'A') {
-                left.setCharAt(i, 'B');
-                right.setCharAt(i, 'Z');
-                configs.add(new StringsConfig(left.toString(), end));
-                configs.add(new StringsConfig(right.toString(), end));
-            } else if (this.start.charAt(i) == 'Z') {
-                left.setCharAt(i, 'A');
-                right.setCharAt(i, 'Y');
-                configs.add(new StringsConfig(left.toString(), end));
-                configs.add(new StringsConfig(right.toString(), end));
+        Collection<Configuration> configs = new ArrayList<>(2 * this.letters.length);
+        for (int i = 0; i < this.letters.length; i++) {
+            char letter = this.letters[i];
+            if (letter == 'A') {
+                configs.add(change(i, 'B'));
+                configs.add(change(i, 'Z'));
+            } else if (letter == 'Z') {
+                configs.add(change(i, 'A'));
+                configs.add(change(i, 'Y'));
             } else {
-                left.setCharAt(i, (char)(this.start.charAt(i) + 1));
-                right.setCharAt(i, (char)(this.start.charAt(i) - 1));
-                configs.add(new StringsConfig(left.toString(), end));
-                configs.add(new StringsConfig(right.toString(), end));
+                configs.add(change(i, (char) (letter + 1)));
+                configs.add(change(i, (char) (letter - 1)));
             }
         }
         return configs;
     }
 
+    /**
+     * the sum over all letters of the turns each needs to reach its goal letter, going the shorter
+     * way around the alphabet. Each move turns one letter one step, and letters do not affect each
+     * other, so for upper case strings this is exactly the number of moves left.
+     * No move changes the length, none is made when the end has a character that is not a letter,
+     * and an upper case letter only ever turns into another one, so those can not be solved.
+     * @return the estimate, counting only upper case letters, {@link HeuristicConfiguration#UNREACHABLE} if the end can not be reached
+     */
+    @Override
+    public int estimate() {
+        char[] end = goal.end;
+        if (this.letters.length != end.length || !goal.movable && !isSolution()) {
+            return HeuristicConfiguration.UNREACHABLE;
+        }
+        int moves = 0;
+        for (int i = 0; i < this.letters.length; i++) {
+            char from = this.letters[i];
+            char to = end[i];
+            boolean upperFrom = from >= 'A' && from <= 'Z';
+            boolean upperTo = to >= 'A' && to <= 'Z';
+            if (upperFrom && !upperTo) {
+                return HeuristicConfiguration.UNREACHABLE;
+            }
+            // any other character needs at least no moves
+            if (upperFrom) {
+                int turns = Math.abs(from - to);
+                moves += Math.min(turns, 26 - turns);
+            }
+        }
+        return moves;
+    }
+
+    @Override
+    public Configuration getGoal() {
+        return new StringsConfig(goal.end.clone(), goal.endHash, goal);
+    }
+
+    @Override
+    public Collection<Configuration> getPredecessors() {
+        // every letter change can be undone by the opposite change, so the moves are their own reverse
+        return getNeighbors();
+    }
+
+    /**
+     * packs a string of upper case letters, five bits per letter with the first letter lowest
+     * @param letters - the string
+     * @return the packed string, or UNREACHABLE if it can not be packed
+     */
+    private static long encode(char[] letters) {
+        if (letters.length > MAX_PACKED_LENGTH) {
+            return UNREACHABLE;
+        }
+        long state = 0;
+        for (int i = 0; i < letters.length; i++) {
+            char letter = letters[i];
+            if (letter < 'A' || letter > 'Z') {
+                return UNREACHABLE;
+            }
+            state |= (long) (letter - 'A') << (i * BITS_PER_LETTER);
+        }
+        return state;
+    }
+
+    @Override
+    public boolean isPackable() {
+        return encode(this.letters) != UNREACHABLE;
+    }
+
+    @Override
+    public long pack() {
+        return encode(this.letters);
+    }
+
+    @Override
+    public Configuration unpack(long state) {
+        char[] letters = new char[this.letters.length];
+        int hash = 0;
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('A' + ((state >>> (i * BITS_PER_LETTER)) & 31));
+            hash = 31 * hash + letters[i];
+        }
+        return new StringsConfig(letters, hash, goal);
+    }
+
+    @Override
+    public boolean isSolution(long state) {
+        return state == goal.packedEnd;
+    }
+
+    @Override
+    public void forEachNeighbor(long state, LongConsumer action) {
+        if (!goal.movable) {
+            return;
+        }
+        for (int i = 0; i < this.letters.length; i++) {
+            int shift = i * BITS_PER_LETTER;
+            long letter = (state >>> shift) & 31;
+            long cleared = state & ~(31L << shift);
+            long up = letter == 25 ? 0 : letter + 1;
+            long down = letter == 0 ? 25 : letter - 1;
+            action.accept(cleared | up << shift);
+            action.accept(cleared | down << shift);
+        }
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other instanceof StringsConfig) {
             StringsConfig o = (StringsConfig) other;
-            return o.start.equals(this.start);
+            return o.hash == this.hash && Arrays.equals(o.letters, this.letters)
+                    && (o.goal == this.goal || Arrays.equals(o.goal.end, this.goal.end));
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return this.start.hashCode() + end.hashCode();
+        return this.hash;
     }
 
     @Override
     public String toString() {
-        return this.start;
+        return new String(this.letters);
     }
 }
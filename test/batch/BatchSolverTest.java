@@ -0,0 +1,42 @@
+package puzzles.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the JSON lines the batch solver writes.
+ * @author Aneesh Bukya
+ */
+public class BatchSolverTest {
+    @Test
+    public void solvedResultIsJson() {
+        BatchSolver.Job job = new BatchSolver.Job("a.txt", "chess", new String[] {"a.txt"});
+        BatchSolver.Result result = new BatchSolver.Result(job, 3, 1_234_567, 10, 8, null);
+        assertEquals("{\"puzzle\":\"a.txt\",\"type\":\"chess\",\"status\":\"solved\",\"steps\":3,"
+                + "\"totalConfigs\":10,\"uniqueConfigs\":8,\"millis\":1.235}", BatchSolver.toJson(result));
+    }
+
+    @Test
+    public void millisUseADecimalPointInEveryLocale() {
+        Locale before = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.GERMANY);
+            BatchSolver.Job job = new BatchSolver.Job("a.txt", "chess", new String[] {"a.txt"});
+            String json = BatchSolver.toJson(new BatchSolver.Result(job, 3, 1_234_567, 10, 8, null));
+            assertTrue(json.endsWith("\"millis\":1.235}"), json);
+        } finally {
+            Locale.setDefault(before);
+        }
+    }
+
+    @Test
+    public void errorsAreQuoted() {
+        BatchSolver.Job job = new BatchSolver.Job("say \"hi\"\n", "strings", new String[] {"A", "B"});
+        String json = BatchSolver.toJson(new BatchSolver.Result(job, -1, 0, 0, 0, "bad\tthing\u0001"));
+        assertEquals("{\"puzzle\":\"say \\\"hi\\\"\\n\",\"type\":\"strings\",\"status\":\"error\","
+                + "\"error\":\"bad\\tthing\\u0001\",\"millis\":0.000}", json);
+    }
+}
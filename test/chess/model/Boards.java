@@ -0,0 +1,30 @@
+package puzzles.chess.model;
+
+/**
+ * Builds chess boards for the tests without going through a file.
+ * @author Aneesh Bukya
+ */
+final class Boards {
+    private Boards() {
+    }
+
+    /**
+     * creates a board
+     * @param numRows - the number of rows
+     * @param numCols - the number of columns
+     * @param squares - the piece letter, or . for empty, of every square row by row
+     * @return the board
+     */
+    static ChessConfig board(int numRows, int numCols, String squares) {
+        byte[] codes = new byte[numRows * numCols];
+        for (int square = 0; square < codes.length; square++) {
+            String piece = String.valueOf(squares.charAt(square));
+            for (byte code = 0; code < ChessConfig.PIECES.length; code++) {
+                if (ChessConfig.PIECES[code].equals(piece)) {
+                    codes[square] = code;
+                }
+            }
+        }
+        return new ChessConfig(numRows, numCols, codes);
+    }
+}
@@ -0,0 +1,60 @@
+package puzzles.chess.model;
+
+import org.junit.jupiter.api.Test;
+import puzzles.common.solver.Configuration;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that chess boards survive encoding and that damaged bytes are rejected.
+ * @author Aneesh Bukya
+ */
+public class ChessCodecTest {
+    private final ChessCodec codec = new ChessCodec();
+
+    @Test
+    public void boardsRoundTrip() {
+        ChessConfig[] boards = {
+                Boards.board(2, 6, "K.QQ..PN..B."),
+                Boards.board(3, 3, "R.B.N.P.K"),
+                Boards.board(1, 1, "Q"),
+                Boards.board(8, 8, "R".repeat(64)),
+        };
+        for (ChessConfig board : boards) {
+            ByteBuffer bytes = codec.encode(board);
+            assertEquals(codec.size(board), bytes.remaining());
+            ChessConfig decoded = codec.decode(bytes);
+            assertEquals(board, decoded);
+            assertEquals(board.hashCode(), decoded.hashCode());
+            assertFalse(bytes.hasRemaining());
+        }
+    }
+
+    @Test
+    public void neighborsRoundTrip() {
+        for (Configuration nbr : Boards.board(3, 3, "R.B.N.P.K").getNeighbors()) {
+            assertEquals(nbr, codec.decode(codec.encode((ChessConfig) nbr)));
+        }
+    }
+
+    @Test
+    public void rejectsBadSizes() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{0, 3, 0})));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{9, 9, 0})));
+    }
+
+    @Test
+    public void rejectsBadPieces() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{1, 2, 0x0F})));
+        // the unused half of the last byte of an odd board must be empty
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{1, 1, 0x12})));
+    }
+
+    @Test
+    public void rejectsShortBuffers() {
+        assertThrows(BufferUnderflowException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{4, 4, 0, 0})));
+    }
+}
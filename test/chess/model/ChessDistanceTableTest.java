@@ -0,0 +1,91 @@
+package puzzles.chess.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the distance table agrees with a breadth first search and only answers for its own boards.
+ * @author Aneesh Bukya
+ */
+public class ChessDistanceTableTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void distancesMatchTheSolver() {
+        ChessConfig start = Boards.board(3, 4, "KQ.RNB..PP.N");
+        ChessDistanceTable table = ChessDistanceTable.build(start);
+        assertDistances(table, start);
+        for (Iterator<Configuration> nbrs = start.neighbors(); nbrs.hasNext(); ) {
+            assertDistances(table, (ChessConfig) nbrs.next());
+        }
+        assertEquals(new Solver().solve(start).size(), table.path(start).size());
+    }
+
+    @Test
+    public void unsolvableBoardsAreMarked() {
+        ChessConfig start = Boards.board(1, 3, "K.K");
+        ChessDistanceTable table = ChessDistanceTable.build(start);
+        assertEquals(ChessDistanceTable.UNSOLVABLE, table.distance(start));
+        assertTrue(table.path(start).isEmpty());
+    }
+
+    @Test
+    public void otherBoardsAreUnknown() {
+        ChessDistanceTable table = ChessDistanceTable.build(Boards.board(2, 3, "KQ.PN."));
+        assertEquals(ChessDistanceTable.UNKNOWN, table.distance(Boards.board(2, 3, "KQ.P.N")));
+        assertEquals(ChessDistanceTable.UNKNOWN, table.distance(Boards.board(3, 2, "KQ.PN.")));
+        assertNull(table.next(Boards.board(2, 3, "KQ.P.N")));
+    }
+
+    @Test
+    public void readGivesBackTheSameTable() throws IOException {
+        ChessConfig start = Boards.board(3, 4, "KQ.RNB..PP.N");
+        ChessDistanceTable built = ChessDistanceTable.build(start);
+        Path file = directory.resolve("table");
+        built.write(file);
+        ChessDistanceTable read = ChessDistanceTable.read(file);
+        assertEquals(built.size(), read.size());
+        assertEquals(built.path(start), read.path(start));
+    }
+
+    @Test
+    public void boardIsComparedAsWellAsKey() throws IOException {
+        ChessConfig start = Boards.board(2, 3, "KQ.PN.");
+        Path file = directory.resolve("table");
+        ChessDistanceTable.build(start).write(file);
+        // the start board comes first, after the header and its key; change a square but keep the key
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[16 + 8 + 2] ^= 0x11;
+        Files.write(file, bytes);
+        assertEquals(ChessDistanceTable.UNKNOWN, ChessDistanceTable.read(file).distance(start));
+    }
+
+    @Test
+    public void otherFilesAreRejected() throws IOException {
+        Path file = directory.resolve("table");
+        Files.write(file, new byte[] {1, 2, 3, 4, 0, 0, 0, 1});
+        assertThrows(IOException.class, () -> ChessDistanceTable.read(file));
+    }
+
+    /**
+     * checks the table's distance of a board against a breadth first search
+     * @param table - the table
+     * @param config - the board
+     */
+    private static void assertDistances(ChessDistanceTable table, ChessConfig config) {
+        Collection<Configuration> path = new Solver().solve(config);
+        int expected = path.isEmpty() ? ChessDistanceTable.UNSOLVABLE : path.size() - 1;
+        assertEquals(expected, table.distance(config));
+    }
+}
@@ -0,0 +1,74 @@
+package puzzles.chess.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the loader reads board files and bundles and rejects anything else.
+ * @author Aneesh Bukya
+ */
+public class ChessLoaderTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * writes a file into the test's directory
+     * @param text - the file's contents
+     * @return the file
+     * @throws IOException - if it can not be written
+     */
+    private Path file(String text) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "board", ".txt"), text);
+    }
+
+    @Test
+    public void loadsABoard() throws IOException {
+        ChessConfig config = ChessLoader.load(file("2 6\nK . Q Q . .\r\nP N . . B .\n"));
+        assertEquals(Boards.board(2, 6, "K.QQ..PN..B."), config);
+        assertEquals(config, new ChessConfig(file("2 6\nK . Q Q . .\nP N . . B .\n").toString()));
+    }
+
+    @Test
+    public void pieceStringsGiveTheSameBoard() throws IOException {
+        String[] pieces = {"K", ".", "Q", "Q", ".", ".", "P", "N", ".", ".", "B", "."};
+        assertEquals(ChessLoader.load(file("2 6\nK . Q Q . .\nP N . . B .\n")), new ChessConfig(2, 6, pieces));
+        assertThrows(IllegalArgumentException.class, () -> new ChessConfig(1, 2, new String[] {"K", "X"}));
+        assertThrows(IllegalArgumentException.class, () -> new ChessConfig(1, 3, new String[] {"K", "."}));
+        // 65536 * 65536 overflows to 0, which matches an empty array
+        assertThrows(IllegalArgumentException.class, () -> new ChessConfig(65536, 65536, new String[0]));
+    }
+
+    @Test
+    public void loadsABundleWithComments() throws IOException {
+        List<ChessConfig> boards = ChessLoader.loadBundle(file("# two boards\n1 2\nK .\n\n2 1 # tall\nR\n.\n"));
+        assertEquals(List.of(Boards.board(1, 2, "K."), Boards.board(2, 1, "R.")), boards);
+    }
+
+    @Test
+    public void rejectsBadSizes() throws IOException {
+        String[] headers = {"0 3\n", "9 9\n", "65536 65536\n", "1000000 1\n", "a b\n", "3\n", "-1 2\n"};
+        for (String header : headers) {
+            Path bad = file(header + "K . .\n");
+            assertThrows(IOException.class, () -> ChessLoader.load(bad), header);
+        }
+    }
+
+    @Test
+    public void rejectsBadPieces() throws IOException {
+        Path unknown = file("1 2\nK X\n");
+        assertThrows(IOException.class, () -> ChessLoader.load(unknown));
+        Path glued = file("1 2\nKK .\n");
+        assertThrows(IOException.class, () -> ChessLoader.load(glued));
+        Path early = file("2 2\nK .\n");
+        assertThrows(IOException.class, () -> ChessLoader.load(early));
+        Path empty = file("# nothing here\n");
+        assertThrows(IOException.class, () -> ChessLoader.load(empty));
+    }
+}
@@ -0,0 +1,121 @@
+package puzzles.chess.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SolutionCache;
+import puzzles.common.solver.Solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the solution store gives back what was put in it, across reopening.
+ * @author Aneesh Bukya
+ */
+public class ChessSolutionStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void pathsComeBackAfterReopening() throws IOException {
+        ChessConfig start = Boards.board(2, 6, "K.QQ..PN..B.");
+        List<Configuration> path = new ArrayList<>(new Solver().solve(start));
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            assertNull(store.get(start));
+            store.putPath(path);
+            assertEquals(path, store.path(start));
+        }
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            assertEquals(path.size(), store.size());
+            assertEquals(path, store.path(start));
+            SolutionCache.Entry entry = store.get(start);
+            assertEquals(path.size() - 1, entry.distance());
+            assertEquals(path.get(1), entry.next());
+        }
+    }
+
+    @Test
+    public void unsolvableBoardsAreRemembered() throws IOException {
+        ChessConfig start = Boards.board(1, 3, "K.K");
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            store.putUnsolvable(start);
+            assertFalse(store.get(start).isSolvable());
+            assertTrue(store.path(start).isEmpty());
+        }
+    }
+
+    @Test
+    public void recordsStayReadableAsTheLogGrows() throws IOException {
+        List<ChessConfig> boards = new ArrayList<>();
+        for (int squares = 3; squares <= 64; squares++) {
+            boards.add(Boards.board(1, squares, "K" + ".".repeat(squares - 2) + "K"));
+        }
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            for (ChessConfig board : boards) {
+                store.putUnsolvable(board);
+                // the first record is read back after every append
+                assertFalse(store.get(boards.get(0)).isSolvable());
+            }
+        }
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            assertEquals(boards.size(), store.size());
+            for (ChessConfig board : boards) {
+                assertFalse(store.get(board).isSolvable());
+            }
+        }
+    }
+
+    @Test
+    public void cutShortRecordIsDropped() throws IOException {
+        ChessConfig first = Boards.board(1, 3, "K.K");
+        ChessConfig second = Boards.board(1, 4, "K..K");
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            store.putUnsolvable(first);
+        }
+        // half a record, as left by a process killed while appending
+        Files.write(directory.resolve("solutions.log"), new byte[]{0, 0, 0, 20, 1, 2}, StandardOpenOption.APPEND);
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            assertEquals(1, store.size());
+            store.putUnsolvable(second);
+            assertFalse(store.get(first).isSolvable());
+            assertFalse(store.get(second).isSolvable());
+        }
+    }
+
+    @Test
+    public void rebuildsAMissingIndex() throws IOException {
+        ChessConfig start = Boards.board(2, 6, "K.QQ..PN..B.");
+        List<Configuration> path = new ArrayList<>(new Solver().solve(start));
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            store.putPath(path);
+        }
+        Files.delete(directory.resolve("solutions.idx"));
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            assertEquals(path, store.path(start));
+        }
+    }
+
+    @Test
+    public void damagedRecordIsAMiss() throws IOException {
+        ChessConfig start = Boards.board(1, 3, "K.K");
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            store.putUnsolvable(start);
+        }
+        // give the board's first square a piece code that does not exist
+        Path log = directory.resolve("solutions.log");
+        byte[] bytes = Files.readAllBytes(log);
+        bytes[bytes.length - 2] = 0x0F;
+        Files.write(log, bytes);
+        try (ChessSolutionStore store = ChessSolutionStore.open(directory)) {
+            assertNull(store.get(start));
+            assertNull(store.path(start));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package puzzles.chess.model;
+
+import org.junit.jupiter.api.Test;
+import puzzles.common.solver.Solver;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.assertShortestPath;
+
+/**
+ * Tests that visiting one board of each group of rotated or reflected boards still finds shortest
+ * paths, in the start board's orientation, while visiting fewer boards.
+ * @author Aneesh Bukya
+ */
+public class ChessSymmetryTest {
+    /**
+     * creates a breadth first solver that reduces symmetric boards
+     * @return the solver
+     */
+    private static Solver symmetric() {
+        Solver solver = new Solver();
+        solver.setSymmetryReduction(true);
+        return solver;
+    }
+
+    @Test
+    public void pathsMatchSolver() {
+        assertShortestPath(() -> Boards.board(3, 4, "KQ.RNB..PP.N"), symmetric());
+        assertShortestPath(() -> Boards.board(2, 6, "K.QQ..PN..B."), symmetric());
+        assertShortestPath(() -> Boards.board(1, 3, "K.K"), symmetric());
+        assertShortestPath(() -> Boards.board(3, 3, "N.N...N.N"), symmetric());
+    }
+
+    @Test
+    public void symmetricBoardsAreVisitedOnce() {
+        // every rotation and reflection of this board is the board itself
+        Supplier<ChessConfig> board = () -> Boards.board(3, 3, "R.R.Q.R.R");
+        Solver plain = new Solver();
+        Solver reduced = symmetric();
+        assertEquals(plain.solve(board.get()).size(), reduced.solve(board.get()).size());
+        assertTrue(reduced.getUniqueConfigs() < plain.getUniqueConfigs(),
+                reduced.getUniqueConfigs() + " of " + plain.getUniqueConfigs());
+    }
+}
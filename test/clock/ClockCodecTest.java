@@ -0,0 +1,29 @@
+package puzzles.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that clocks survive encoding.
+ * @author Aneesh Bukya
+ */
+public class ClockCodecTest {
+    private final ClockCodec codec = new ClockCodec();
+
+    @Test
+    public void clocksRoundTrip() {
+        ClockConfig clock = new ClockConfig(12, 3, 9);
+        ByteBuffer bytes = codec.encode(clock);
+        assertEquals(codec.size(clock), bytes.remaining());
+        assertEquals(clock, codec.decode(bytes));
+    }
+
+    @Test
+    public void rejectsBadClocks() {
+        ByteBuffer bytes = ByteBuffer.allocate(12).putInt(12).putInt(13).putInt(1).flip();
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(bytes));
+    }
+}
@@ -0,0 +1,30 @@
+package puzzles.clock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.assertShortestPath;
+
+/**
+ * Tests that the clock solver's closed form and its array search both find shortest paths.
+ * @author Aneesh Bukya
+ */
+public class ClockSolverTest {
+    /** hours, start and end of each clock, including the goal on the start and on the opposite side */
+    private static final int[][] CLOCKS = {{12, 2, 9}, {7, 7, 1}, {60, 59, 1}, {12, 5, 5}, {1, 1, 1}, {12, 1, 7}, {13, 1, 7}};
+
+    @Test
+    public void bothWaysMatchSolver() {
+        for (int[] clock : CLOCKS) {
+            assertShortestPath(() -> new ClockConfig(clock[0], clock[1], clock[2]), new ClockSolver(true));
+            assertShortestPath(() -> new ClockConfig(clock[0], clock[1], clock[2]), new ClockSolver(false));
+        }
+    }
+
+    @Test
+    public void closedFormStepsOnlyThePath() {
+        ClockSolver solver = new ClockSolver(true);
+        assertEquals(6, solver.solve(new ClockConfig(100_000, 1, 6)).size());
+        assertEquals(6, solver.getUniqueConfigs());
+    }
+}
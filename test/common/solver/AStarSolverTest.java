@@ -0,0 +1,45 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.clock.ClockConfig;
+import puzzles.strings.StringsConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.*;
+
+/**
+ * Tests that A* finds paths as short as a breadth first search, whether or not configs estimate,
+ * and that a good estimate visits fewer configs.
+ * @author Aneesh Bukya
+ */
+public class AStarSolverTest {
+    @Test
+    public void stringsMatchSolver() {
+        assertShortestPath(() -> new StringsConfig("CAT", "DOG"), new AStarSolver());
+        assertShortestPath(() -> new StringsConfig("AZ", "ZA"), new AStarSolver());
+        assertShortestPath(() -> new StringsConfig("AB", "AB"), new AStarSolver());
+        assertShortestPath(() -> new StringsConfig("AB", "ABC"), new AStarSolver());
+    }
+
+    @Test
+    public void clocksMatchSolver() {
+        assertShortestPath(() -> new ClockConfig(12, 2, 9), new AStarSolver());
+        assertShortestPath(() -> new ClockConfig(7, 7, 1), new AStarSolver());
+        assertShortestPath(() -> new ClockConfig(60, 59, 1), new AStarSolver());
+    }
+
+    @Test
+    public void boardsWithoutAnEstimateMatchSolver() {
+        assertShortestPath(() -> board(3, 4, "KQ.RNB..PP.N"), new AStarSolver());
+        assertShortestPath(() -> board(2, 3, "NN..BB"), new AStarSolver());
+    }
+
+    @Test
+    public void estimateNarrowsTheSearch() {
+        Solver bfs = new Solver();
+        AStarSolver aStar = new AStarSolver();
+        assertEquals(bfs.solve(new StringsConfig("CAT", "DOG")).size(),
+                aStar.solve(new StringsConfig("CAT", "DOG")).size());
+        assertTrue(aStar.getUniqueConfigs() < bfs.getUniqueConfigs());
+    }
+}
@@ -0,0 +1,114 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the ring buffer frontier hands elements back first in, first out while it wraps
+ * around the end of its array and grows.
+ * @author Aneesh Bukya
+ */
+public class ArrayFrontierTest {
+    @Test
+    public void removesInTheOrderAdded() {
+        ArrayFrontier<Integer> frontier = new ArrayFrontier<>();
+        assertTrue(frontier.isEmpty());
+        for (int i = 0; i < 5; i++) {
+            frontier.add(i);
+        }
+        assertFalse(frontier.isEmpty());
+        assertEquals(5, frontier.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, frontier.remove());
+        }
+        assertTrue(frontier.isEmpty());
+        assertEquals(0, frontier.size());
+    }
+
+    @Test
+    public void wrapsAroundTheEnd() {
+        // room for 4, so after two removes the next adds go to the start of the array
+        ArrayFrontier<Integer> frontier = new ArrayFrontier<>(4);
+        for (int i = 0; i < 4; i++) {
+            frontier.add(i);
+        }
+        assertEquals(0, frontier.remove());
+        assertEquals(1, frontier.remove());
+        frontier.add(4);
+        frontier.add(5);
+        assertEquals(4, frontier.size());
+        for (int i = 2; i < 6; i++) {
+            assertEquals(i, frontier.remove());
+        }
+        assertTrue(frontier.isEmpty());
+    }
+
+    @Test
+    public void growsWhileWrapped() {
+        ArrayFrontier<Integer> frontier = new ArrayFrontier<>(4);
+        for (int i = 0; i < 4; i++) {
+            frontier.add(i);
+        }
+        frontier.remove();
+        frontier.remove();
+        frontier.add(4);
+        frontier.add(5);
+        // full with the front in the middle of the array, so growing has to unwrap both parts
+        for (int i = 6; i < 20; i++) {
+            frontier.add(i);
+        }
+        assertEquals(18, frontier.size());
+        for (int i = 2; i < 20; i++) {
+            assertEquals(i, frontier.remove());
+        }
+        assertTrue(frontier.isEmpty());
+    }
+
+    @Test
+    public void smallCapacitiesStillGrow() {
+        for (int capacity : new int[] {0, 1, 3, 5}) {
+            ArrayFrontier<Integer> frontier = new ArrayFrontier<>(capacity);
+            for (int i = 0; i < 9; i++) {
+                frontier.add(i);
+            }
+            for (int i = 0; i < 9; i++) {
+                assertEquals(i, frontier.remove(), "capacity " + capacity);
+            }
+        }
+    }
+
+    @Test
+    public void matchesAQueueOverManyLaps() {
+        ArrayFrontier<Integer> frontier = new ArrayFrontier<>(2);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int next = 0;
+        // add three and remove two per round, so the front laps the array many times between doublings
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 3; i++) {
+                frontier.add(next);
+                queue.add(next++);
+            }
+            for (int i = 0; i < 2; i++) {
+                assertEquals(queue.remove(), frontier.remove());
+            }
+            assertEquals(queue.size(), frontier.size());
+        }
+        while (!queue.isEmpty()) {
+            assertEquals(queue.remove(), frontier.remove());
+        }
+        assertTrue(frontier.isEmpty());
+    }
+
+    @Test
+    public void removingFromEmptyThrows() {
+        ArrayFrontier<Integer> frontier = new ArrayFrontier<>();
+        assertThrows(NoSuchElementException.class, frontier::remove);
+        frontier.add(1);
+        frontier.remove();
+        assertThrows(NoSuchElementException.class, frontier::remove);
+    }
+}
@@ -0,0 +1,39 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.clock.ClockConfig;
+import puzzles.strings.StringsConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.*;
+
+/**
+ * Tests that the two sided search finds paths as short as a breadth first search, and hands
+ * puzzles without a known goal to one.
+ * @author Aneesh Bukya
+ */
+public class BidirectionalSolverTest {
+    @Test
+    public void stringsMatchSolver() {
+        assertShortestPath(() -> new StringsConfig("CAT", "DOG"), new BidirectionalSolver());
+        assertShortestPath(() -> new StringsConfig("AZ", "ZA"), new BidirectionalSolver());
+        assertShortestPath(() -> new StringsConfig("AB", "AB"), new BidirectionalSolver());
+        assertShortestPath(() -> new StringsConfig("AB", "ABC"), new BidirectionalSolver());
+    }
+
+    @Test
+    public void clocksMatchSolver() {
+        assertShortestPath(() -> new ClockConfig(12, 2, 9), new BidirectionalSolver());
+        assertShortestPath(() -> new ClockConfig(7, 7, 1), new BidirectionalSolver());
+        assertShortestPath(() -> new ClockConfig(60, 59, 1), new BidirectionalSolver());
+    }
+
+    @Test
+    public void boardsWithoutAGoalAreSearchedForwards() {
+        BidirectionalSolver solver = new BidirectionalSolver();
+        assertShortestPath(() -> board(3, 4, "KQ.RNB..PP.N"), solver);
+        Solver bfs = new Solver();
+        bfs.solve(board(3, 4, "KQ.RNB..PP.N"));
+        assertEquals(bfs.getUniqueConfigs(), solver.getUniqueConfigs());
+    }
+}
@@ -0,0 +1,38 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.*;
+
+/**
+ * Tests that the depth first search finds shortest paths on chess boards, where every solution
+ * has the same length, with and without pruning dead ends.
+ * @author Aneesh Bukya
+ */
+public class DepthFirstSolverTest {
+    /** boards with and without solutions, the last too big to pack into a long */
+    private static final String[][] BOARDS = {
+            {"2", "6", "K.QQ..PN..B."}, {"3", "4", "KQ.RNB..PP.N"}, {"1", "1", "K"}, {"1", "3", "K.K"},
+            {"2", "3", "NN..BB"}, {"5", "5", "R...B" + "....." + "..Q.." + "....." + "N...K"}
+    };
+
+    @Test
+    public void boardsMatchSolver() {
+        for (String[] board : BOARDS) {
+            int numRows = Integer.parseInt(board[0]);
+            int numCols = Integer.parseInt(board[1]);
+            assertShortestPath(() -> board(numRows, numCols, board[2]), new DepthFirstSolver());
+            assertShortestPath(() -> board(numRows, numCols, board[2]), new DepthFirstSolver(true));
+        }
+    }
+
+    @Test
+    public void pruningSkipsDeadEnds() {
+        DepthFirstSolver plain = new DepthFirstSolver();
+        DepthFirstSolver pruned = new DepthFirstSolver(true);
+        assertTrue(plain.solve(board(2, 3, "NN..BB")).isEmpty());
+        assertTrue(pruned.solve(board(2, 3, "NN..BB")).isEmpty());
+        assertTrue(pruned.getTotalConfigs() <= plain.getTotalConfigs());
+    }
+}
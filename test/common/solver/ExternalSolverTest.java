@@ -0,0 +1,66 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.chess.model.ChessCodec;
+import puzzles.clock.ClockConfig;
+import puzzles.strings.StringsCodec;
+import puzzles.strings.StringsConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.assertShortestPath;
+import static puzzles.common.solver.SolverAssertions.board;
+
+/**
+ * Tests that the external memory solver finds paths as short as a plain breadth first search.
+ * @author Aneesh Bukya
+ */
+public class ExternalSolverTest {
+    @Test
+    public void packedStatesMatchBreadthFirst() {
+        // tiny buffers so every layer is spread over many runs
+        ExternalSolver solver = new ExternalSolver(null, 64);
+        String[][] puzzles = {{"AB", "ZY"}, {"CAT", "DOG"}, {"AZ", "ZA"}, {"A", "A"}};
+        for (String[] puzzle : puzzles) {
+            assertShortestPath(() -> new StringsConfig(puzzle[0], puzzle[1]), solver);
+        }
+        assertShortestPath(() -> new ClockConfig(12, 2, 9), solver);
+        assertShortestPath(() -> new ClockConfig(7, 7, 1), solver);
+        assertShortestPath(() -> new ClockConfig(60, 59, 1), solver);
+    }
+
+    @Test
+    public void defaultBuffersMatchBreadthFirst() {
+        assertShortestPath(() -> new StringsConfig("CAT", "DOG"), new ExternalSolver());
+        assertShortestPath(() -> new ClockConfig(12, 2, 9), new ExternalSolver());
+    }
+
+    @Test
+    public void encodedStatesMatchBreadthFirst() {
+        // too long to pack into a long, so the states are kept as their codec bytes
+        StringsConfig start = new StringsConfig("ABCDEFGHIJKLMN", "ABCDEFGHIJKLNM");
+        assertFalse(start.isPackable());
+        assertShortestPath(() -> start, new ExternalSolver(null, 50, new StringsCodec()));
+    }
+
+    @Test
+    public void chessBoardsMatchBreadthFirst() {
+        ExternalSolver solver = new ExternalSolver(null, 64, new ChessCodec());
+        assertShortestPath(() -> board(2, 6, "K.QQ..PN..B."), solver);
+        assertShortestPath(() -> board(3, 4, "KQ.RNB..PP.N"), solver);
+        assertShortestPath(() -> board(1, 1, "K"), solver);
+        assertShortestPath(() -> board(1, 3, "K.K"), solver);
+        // more squares than fit in a packed long, so the states need the codec as they do in Chess
+        assertShortestPath(() -> board(5, 5, "R...B" + "....." + "..Q.." + "....." + "N...K"), solver);
+    }
+
+    @Test
+    public void unsolvableHasEmptyPath() {
+        assertTrue(new ExternalSolver(null, 10).solve(new StringsConfig("AB", "A1")).isEmpty());
+    }
+
+    @Test
+    public void refusesStatesItCanNotStore() {
+        StringsConfig start = new StringsConfig("ABCDEFGHIJKLMN", "ABCDEFGHIJKLMO");
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSolver().solve(start));
+    }
+}
@@ -0,0 +1,61 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.clock.ClockConfig;
+import puzzles.strings.StringsConfig;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.*;
+
+/**
+ * Tests that iterative deepening A* finds shortest paths and gives up when there are none.
+ * @author Aneesh Bukya
+ */
+public class IDAStarSolverTest {
+    @Test
+    public void pathsAreAsShortAsBreadthFirst() {
+        String[][] puzzles = {{"AAA", "ZZB"}, {"CAT", "DOG"}, {"AB", "AB"}};
+        for (String[] puzzle : puzzles) {
+            int expected = new Solver().solve(new StringsConfig(puzzle[0], puzzle[1])).size();
+            assertEquals(expected, new IDAStarSolver().solve(new StringsConfig(puzzle[0], puzzle[1])).size());
+        }
+        int expected = new Solver().solve(new ClockConfig(12, 2, 9)).size();
+        assertEquals(expected, new IDAStarSolver().solve(new ClockConfig(12, 2, 9)).size());
+    }
+
+    @Test
+    public void boardsWithoutAnEstimateMatchSolver() {
+        // no board can be reached twice on one path, so without an estimate each round is a bounded depth first search
+        assertShortestPath(() -> board(3, 4, "KQ.RNB..PP.N"), new IDAStarSolver());
+        assertShortestPath(() -> board(2, 6, "K.QQ..PN..B."), new IDAStarSolver());
+        assertShortestPath(() -> board(2, 3, "NN..BB"), new IDAStarSolver());
+        assertShortestPath(() -> board(2, 3, "NN..BB"), new IDAStarSolver(8));
+    }
+
+    @Test
+    public void tableFindsTheSamePaths() {
+        String[][] puzzles = {{"AAA", "ZZB"}, {"CAT", "DOG"}, {"AB", "AB"}};
+        for (String[] puzzle : puzzles) {
+            int expected = new Solver().solve(new StringsConfig(puzzle[0], puzzle[1])).size();
+            for (int tableSize : new int[] {1, 16, 4096}) {
+                IDAStarSolver solver = new IDAStarSolver(tableSize);
+                assertEquals(expected, solver.solve(new StringsConfig(puzzle[0], puzzle[1])).size());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new IDAStarSolver(-1));
+    }
+
+    @Test
+    public void unsolvablePuzzlesEnd() {
+        // the estimate says these can never be solved, so not even the start is expanded
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            IDAStarSolver solver = new IDAStarSolver();
+            assertTrue(solver.solve(new StringsConfig("AB", "ABC")).isEmpty());
+            assertEquals(1, solver.getUniqueConfigs());
+            assertTrue(solver.solve(new StringsConfig("ABC", "AB")).isEmpty());
+            assertTrue(solver.solve(new StringsConfig("AB", "A1")).isEmpty());
+        });
+    }
+}
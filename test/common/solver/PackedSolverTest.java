@@ -0,0 +1,51 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.clock.ClockConfig;
+import puzzles.strings.StringsConfig;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static puzzles.common.solver.SolverAssertions.board;
+
+/**
+ * Tests that the packed solver finds the same paths and counts the same configs as Solver.
+ * @author Aneesh Bukya
+ */
+public class PackedSolverTest {
+    /**
+     * solves a puzzle with both solvers and compares the results
+     * @param puzzle - creates the puzzle, once for each solver
+     */
+    private static void assertSameAsSolver(Supplier<Configuration> puzzle) {
+        Solver solver = new Solver();
+        PackedSolver packed = new PackedSolver();
+        assertEquals(List.copyOf(solver.solve(puzzle.get())), List.copyOf(packed.solve(puzzle.get())));
+        assertEquals(solver.getTotalConfigs(), packed.getTotalConfigs(), "total configs");
+        assertEquals(solver.getUniqueConfigs(), packed.getUniqueConfigs(), "unique configs");
+    }
+
+    @Test
+    public void stringsMatchSolver() {
+        assertSameAsSolver(() -> new StringsConfig("CAT", "DOG"));
+        assertSameAsSolver(() -> new StringsConfig("AZ", "ZA"));
+        assertSameAsSolver(() -> new StringsConfig("AB", "AB"));
+        // no solution, so every state is visited
+        assertSameAsSolver(() -> new StringsConfig("AB", "A1"));
+    }
+
+    @Test
+    public void clocksMatchSolver() {
+        assertSameAsSolver(() -> new ClockConfig(12, 2, 9));
+        assertSameAsSolver(() -> new ClockConfig(7, 7, 1));
+    }
+
+    @Test
+    public void boardsMatchSolver() {
+        assertSameAsSolver(() -> board(3, 4, "KQ.RNB..PP.N"));
+        assertSameAsSolver(() -> board(2, 6, "K.QQ..PN..B."));
+        assertSameAsSolver(() -> board(2, 3, "NN..BB"));
+    }
+}
@@ -0,0 +1,41 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.clock.ClockConfig;
+import puzzles.strings.StringsConfig;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static puzzles.common.solver.SolverAssertions.*;
+
+/**
+ * Tests that expanding each layer in parallel still finds paths as short as a breadth first search.
+ * @author Aneesh Bukya
+ */
+public class ParallelSolverTest {
+    @Test
+    public void stringsMatchSolver() {
+        assertShortestPath(() -> new StringsConfig("CAT", "DOG"), new ParallelSolver());
+        assertShortestPath(() -> new StringsConfig("AZ", "ZA"), new ParallelSolver());
+        assertShortestPath(() -> new StringsConfig("AB", "AB"), new ParallelSolver());
+        assertShortestPath(() -> new StringsConfig("AB", "ABC"), new ParallelSolver());
+    }
+
+    @Test
+    public void clocksMatchSolver() {
+        assertShortestPath(() -> new ClockConfig(12, 2, 9), new ParallelSolver());
+        assertShortestPath(() -> new ClockConfig(60, 59, 1), new ParallelSolver());
+    }
+
+    @Test
+    public void boardsMatchSolverOnAnyPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertShortestPath(() -> board(3, 4, "KQ.RNB..PP.N"), new ParallelSolver(pool));
+            assertShortestPath(() -> board(2, 6, "K.QQ..PN..B."), new ParallelSolver(pool));
+            assertShortestPath(() -> board(1, 3, "K.K"), new ParallelSolver(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
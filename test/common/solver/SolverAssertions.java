@@ -0,0 +1,51 @@
+package puzzles.common.solver;
+
+import puzzles.chess.model.ChessConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the paths search strategies find against a plain breadth first search.
+ * @author Aneesh Bukya
+ */
+public final class SolverAssertions {
+    private SolverAssertions() {
+    }
+
+    /**
+     * creates a chess board
+     * @param numRows - the number of rows
+     * @param numCols - the number of columns
+     * @param squares - the piece letter, or . for empty, of every square row by row
+     * @return the board
+     */
+    public static ChessConfig board(int numRows, int numCols, String squares) {
+        return new ChessConfig(numRows, numCols, squares.split(""));
+    }
+
+    /**
+     * solves a puzzle with a strategy and checks the path is as long as the one a plain breadth
+     * first search finds, starts at the start config, ends at a solution and is made of moves
+     * @param puzzle - creates the start config, once for each search
+     * @param strategy - the strategy to check
+     */
+    public static void assertShortestPath(Supplier<? extends Configuration> puzzle, SearchStrategy strategy) {
+        Configuration start = puzzle.get();
+        List<Configuration> expected = new ArrayList<>(new Solver().solve(puzzle.get()));
+        List<Configuration> path = new ArrayList<>(strategy.solve(start));
+        String name = strategy.getClass().getSimpleName() + " from " + start;
+        assertEquals(expected.size(), path.size(), name);
+        if (!path.isEmpty()) {
+            assertEquals(start, path.get(0), name);
+            assertTrue(path.get(path.size() - 1).isSolution(), name);
+            for (int i = 0; i + 1 < path.size(); i++) {
+                assertTrue(path.get(i).getNeighbors().contains(path.get(i + 1)),
+                        name + ": " + path.get(i) + " -> " + path.get(i + 1));
+            }
+        }
+    }
+}
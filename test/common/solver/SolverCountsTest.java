@@ -0,0 +1,71 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.chess.model.ChessConfig;
+import puzzles.strings.StringsConfig;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that every strategy reports the configs it really generated, with or without a solution.
+ * @author Aneesh Bukya
+ */
+public class SolverCountsTest {
+    /** the strategies that generate every reachable config when there is no solution, as Solver does */
+    private static final List<Supplier<SearchStrategy>> EXHAUSTIVE = List.of(
+            ParallelSolver::new, PackedSolver::new, ExternalSolver::new);
+
+    @Test
+    public void unsolvableCountsMatchSolver() {
+        Solver solver = new Solver();
+        assertTrue(solver.solve(new StringsConfig("AB", "ABC")).isEmpty());
+        assertEquals(26 * 26, solver.getUniqueConfigs());
+        for (Supplier<SearchStrategy> strategy : EXHAUSTIVE) {
+            SearchStrategy search = strategy.get();
+            assertTrue(search.solve(new StringsConfig("AB", "ABC")).isEmpty());
+            String name = search.getClass().getSimpleName();
+            assertEquals(solver.getTotalConfigs(), search.getTotalConfigs(), name + " total configs");
+            assertEquals(solver.getUniqueConfigs(), search.getUniqueConfigs(), name + " unique configs");
+        }
+    }
+
+    @Test
+    public void informedSearchesCountWhatTheyGenerate() {
+        // two knights and two bishops that can never take one another; chess boards do not estimate,
+        // so A* visits every board, where the strings estimate would give up before the first move
+        Supplier<Configuration> board = () -> new ChessConfig(2, 3, new String[] {"N", "N", ".", ".", "B", "B"});
+        Solver solver = new Solver();
+        assertTrue(solver.solve(board.get()).isEmpty());
+        AStarSolver aStar = new AStarSolver();
+        assertTrue(aStar.solve(board.get()).isEmpty());
+        assertEquals(solver.getTotalConfigs(), aStar.getTotalConfigs());
+        assertEquals(solver.getUniqueConfigs(), aStar.getUniqueConfigs());
+        IDAStarSolver idaStar = new IDAStarSolver();
+        assertTrue(idaStar.solve(board.get()).isEmpty());
+        assertTrue(idaStar.getTotalConfigs() >= solver.getTotalConfigs());
+    }
+
+    @Test
+    public void searchesWithoutSolutionKeepTheirCounts() {
+        for (Supplier<SearchStrategy> strategy : List.<Supplier<SearchStrategy>>of(
+                BidirectionalSolver::new, () -> new DepthFirstSolver(true))) {
+            SearchStrategy search = strategy.get();
+            assertTrue(search.solve(new StringsConfig("AB", "ABC")).isEmpty());
+            assertTrue(search.getTotalConfigs() > 1, search.getClass().getSimpleName());
+            assertTrue(search.getUniqueConfigs() > 1, search.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void bidirectionalCountsTheMeetingConfigOnce() {
+        BidirectionalSolver bidirectional = new BidirectionalSolver();
+        assertEquals(1, bidirectional.solve(new StringsConfig("AB", "AB")).size());
+        assertEquals(1, bidirectional.getUniqueConfigs());
+        // one move apart: the start, the goal and nothing else once they meet
+        assertEquals(2, bidirectional.solve(new StringsConfig("AB", "BB")).size());
+        assertTrue(bidirectional.getUniqueConfigs() <= bidirectional.getTotalConfigs() + 1);
+    }
+}
@@ -0,0 +1,176 @@
+package puzzles.common.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzles.strings.StringsConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the streaming solver publishes its events in order, passes on failures and stops
+ * searching when the subscriber cancels.
+ * @author Aneesh Bukya
+ */
+public class StreamingSolverTest {
+    /**
+     * A puzzle that goes on forever: every count leads to the next one and none is a solution.
+     */
+    private record Count(long count) implements Configuration {
+        @Override
+        public boolean isSolution() {
+            return false;
+        }
+
+        @Override
+        public Collection<Configuration> getNeighbors() {
+            return List.of(new Count(count + 1));
+        }
+    }
+
+    @Test
+    public void eventsComeInOrder() {
+        List<Configuration> expected = List.copyOf(new Solver().solve(new StringsConfig("CAT", "DOG")));
+        List<SolveEvent> events = new ArrayList<>();
+        new StreamingSolver().consume(new StringsConfig("CAT", "DOG"), events::add).join();
+        int finished = 0;
+        while (events.get(finished) instanceof SolveEvent.Layer) {
+            finished++;
+        }
+        SolveStats stats = ((SolveEvent.Finished) events.get(finished)).stats();
+        assertTrue(stats.solved());
+        assertEquals(expected.size() - 1, stats.moves());
+        List<SolveEvent> steps = events.subList(finished + 1, events.size());
+        assertEquals(expected.size(), steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            assertEquals(new SolveEvent.Step(i, expected.get(i)), steps.get(i));
+        }
+    }
+
+    @Test
+    public void everySubscriberGetsItsOwnSearch() {
+        List<Thread> threads = new ArrayList<>();
+        StreamingSolver solver = new StreamingSolver(Solver::new, search -> {
+            Thread thread = new Thread(search);
+            threads.add(thread);
+            thread.start();
+        });
+        Flow.Publisher<SolveEvent> publisher = solver.solve(new StringsConfig("CAT", "DOG"));
+        assertTrue(threads.isEmpty());
+        List<SolveEvent> first = new ArrayList<>();
+        List<SolveEvent> second = new ArrayList<>();
+        subscribeAll(publisher, first).join();
+        subscribeAll(publisher, second).join();
+        assertEquals(2, threads.size());
+        // the timings differ, but both searches walk the same path
+        assertEquals(first.stream().filter(SolveEvent.Step.class::isInstance).toList(),
+                second.stream().filter(SolveEvent.Step.class::isInstance).toList());
+        assertEquals(List.copyOf(new Solver().solve(new StringsConfig("CAT", "DOG"))).size(),
+                second.stream().filter(SolveEvent.Step.class::isInstance).count());
+    }
+
+    /**
+     * subscribes to a publisher and collects every event it sends
+     * @param publisher - the publisher
+     * @param events - the list the events are added to
+     * @return completes when the publisher completes
+     */
+    private static CompletableFuture<Void> subscribeAll(Flow.Publisher<SolveEvent> publisher, List<SolveEvent> events) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(SolveEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    @Test
+    public void otherStrategiesFinishWithoutLayers() {
+        List<SolveEvent> events = new ArrayList<>();
+        new StreamingSolver(AStarSolver::new).consume(new StringsConfig("AB", "A1"), events::add).join();
+        assertEquals(1, events.size());
+        assertFalse(((SolveEvent.Finished) events.get(0)).stats().solved());
+    }
+
+    @Test
+    public void failuresReachTheSubscriber() {
+        StreamingSolver solver = new StreamingSolver(() -> new SearchStrategy() {
+            @Override
+            public Collection<Configuration> solve(Configuration startConfig) {
+                throw new IllegalStateException("broken");
+            }
+
+            @Override
+            public int getTotalConfigs() {
+                return 0;
+            }
+
+            @Override
+            public int getUniqueConfigs() {
+                return 0;
+            }
+        });
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> solver.consume(new Count(0), event -> { }).join());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    public void cancellingStopsTheSearch() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        StreamingSolver solver = new StreamingSolver(DepthFirstSolver::new, search -> {
+            Thread thread = new Thread(search);
+            threads.add(thread);
+            thread.start();
+        });
+        CountDownLatch subscribed = new CountDownLatch(1);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        solver.solve(new Count(0)).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+                subscribed.countDown();
+            }
+
+            @Override
+            public void onNext(SolveEvent event) {
+            }
+
+            @Override
+            public void onError(Throwable error) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertTrue(subscribed.await(10, TimeUnit.SECONDS));
+        subscription[0].cancel();
+        threads.get(0).join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(threads.get(0).isAlive());
+    }
+}
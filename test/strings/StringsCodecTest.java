@@ -0,0 +1,42 @@
+package puzzles.strings;
+
+import org.junit.jupiter.api.Test;
+import puzzles.common.solver.Configuration;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that strings puzzles survive encoding.
+ * @author Aneesh Bukya
+ */
+public class StringsCodecTest {
+    private final StringsCodec codec = new StringsCodec();
+
+    @Test
+    public void puzzlesRoundTrip() {
+        String[][] puzzles = {{"HELLO", "WORLD"}, {"AB", "ABC"}, {"", ""}, {"A\u0416", "B"}};
+        for (String[] puzzle : puzzles) {
+            StringsConfig config = new StringsConfig(puzzle[0], puzzle[1]);
+            ByteBuffer bytes = codec.encode(config);
+            assertEquals(codec.size(config), bytes.remaining());
+            StringsConfig decoded = codec.decode(bytes);
+            assertEquals(config, decoded);
+            assertEquals(config.getGoal(), decoded.getGoal());
+        }
+    }
+
+    @Test
+    public void neighborsRoundTrip() {
+        for (Configuration nbr : new StringsConfig("AZM", "BBB").getNeighbors()) {
+            assertEquals(nbr, codec.decode(codec.encode((StringsConfig) nbr)));
+        }
+    }
+
+    @Test
+    public void rejectsBadWidths() {
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode(ByteBuffer.wrap(new byte[]{0, 1, 0, 1, 3, 65, 66})));
+    }
+}
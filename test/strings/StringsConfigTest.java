@@ -0,0 +1,67 @@
+package puzzles.strings;
+
+import org.junit.jupiter.api.Test;
+import puzzles.common.solver.BidirectionalSolver;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.HeuristicConfiguration;
+import puzzles.common.solver.Solver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the strings puzzle configs.
+ * @author Aneesh Bukya
+ */
+public class StringsConfigTest {
+    @Test
+    public void neighborsHashLikeTheirStrings() {
+        StringsConfig start = new StringsConfig("AZBY", "CCCC");
+        for (Configuration nbr : start.getNeighbors()) {
+            assertEquals(nbr.toString().hashCode(), nbr.hashCode(), nbr.toString());
+        }
+    }
+
+    @Test
+    public void neighborsLeaveTheConfigAlone() {
+        StringsConfig start = new StringsConfig("HELLO", "WORLD");
+        start.getNeighbors();
+        assertEquals("HELLO", start.toString());
+        assertEquals("HELLO".hashCode(), start.hashCode());
+    }
+
+    @Test
+    public void goalOfALongerEndExpands() {
+        StringsConfig goal = (StringsConfig) new StringsConfig("AB", "ABC").getGoal();
+        for (Configuration nbr : goal.getPredecessors()) {
+            assertEquals(nbr.toString().hashCode(), nbr.hashCode(), nbr.toString());
+        }
+    }
+
+    @Test
+    public void unequalLengthsHaveNoSolution() {
+        assertTrue(new BidirectionalSolver().solve(new StringsConfig("AB", "ABC")).isEmpty());
+        assertTrue(new BidirectionalSolver().solve(new StringsConfig("ABC", "AB")).isEmpty());
+        assertTrue(new Solver().solve(new StringsConfig("AB", "ABC")).isEmpty());
+    }
+
+    @Test
+    public void bidirectionalMatchesBreadthFirst() {
+        String[][] puzzles = {{"AAA", "ZZB"}, {"CAT", "DOG"}, {"AB", "AB"}};
+        for (String[] puzzle : puzzles) {
+            int expected = new Solver().solve(new StringsConfig(puzzle[0], puzzle[1])).size();
+            int actual = new BidirectionalSolver().solve(new StringsConfig(puzzle[0], puzzle[1])).size();
+            assertEquals(expected, actual, puzzle[0] + " -> " + puzzle[1]);
+        }
+    }
+
+    @Test
+    public void estimateMarksUnreachableEnds() {
+        assertEquals(3, new StringsConfig("AZB", "BAA").estimate());
+        assertEquals(HeuristicConfiguration.UNREACHABLE, new StringsConfig("AB", "ABC").estimate());
+        assertEquals(HeuristicConfiguration.UNREACHABLE, new StringsConfig("AB", "A1").estimate());
+        assertEquals(HeuristicConfiguration.UNREACHABLE, new StringsConfig("AB", "Ab").estimate());
+        assertEquals(0, new StringsConfig("A1", "A1").estimate());
+        // lower case letters can turn into upper case ones, just not back
+        assertEquals(1, new StringsConfig("aB", "AA").estimate());
+    }
+}